@@ -15,6 +15,7 @@ const api = axios.create({
 export const productsAPI = {
   getAll: () => api.get<Product[]>('/products'),
   getById: (id: string) => api.get<Product>(`/products/${id}`),
+  getByIds: (ids: string[]) => api.get<{ products: Record<string, Product>; missingIds: number[] }>('/products/batch', { params: { ids: ids.join(',') } }),
   create: (data: any) => api.post<Product>('/products', mapProductToBackend(data)),
   update: (id: string, data: any) => api.put<Product>(`/products/${id}`, mapProductToBackend(data)),
   delete: (id: string) => api.delete(`/products/${id}`)
@@ -30,4 +31,14 @@ export const stockMovementsAPI = {
   getDashboardStats: () => api.get('/stock-movements/dashboard/stats')
 };
 
+export const inventoryEventsAPI = {
+  subscribe: (onDelta: (delta: any) => void): EventSource => {
+    const source = new EventSource(`${api.defaults.baseURL}/events/inventory`);
+    ['movement', 'product'].forEach((type) =>
+      source.addEventListener(type, (event) => onDelta(JSON.parse((event as MessageEvent).data)))
+    );
+    return source;
+  }
+};
+
 export default api;
\ No newline at end of file
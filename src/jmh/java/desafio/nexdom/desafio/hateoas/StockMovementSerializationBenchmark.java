@@ -0,0 +1,67 @@
+package desafio.nexdom.desafio.hateoas;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.model.StockMovement;
+import desafio.nexdom.desafio.service.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Conversão para StockMovementModel (links HATEOAS) e serialização Jackson de uma página de movimentações
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StockMovementSerializationBenchmark {
+
+    @Param({"1", "20", "200"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<StockMovement> movements;
+
+    @Setup
+    public void setUp() {
+        // Os links são montados a partir da requisição corrente, como em uma chamada real
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/stock-movements");
+        request.setServerPort(8081);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        Product product = BenchmarkData.catalog(1, 3).get(0);
+        movements = BenchmarkData.ledger(product, pageSize, BenchmarkData.LotShape.MANY_SMALL_LOTS, 1, 3);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<StockMovementModel> toModels() {
+        List<StockMovementModel> models = new ArrayList<>(movements.size());
+        for (StockMovement movement : movements) {
+            models.add(StockMovementModel.fromStockMovement(movement));
+        }
+        return models;
+    }
+
+    @Benchmark
+    public byte[] toModelsAndJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(toModels());
+    }
+}
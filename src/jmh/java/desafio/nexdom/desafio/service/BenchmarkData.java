@@ -0,0 +1,83 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.model.MovementType;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.model.StockMovement;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Dados sintéticos determinísticos (mesma semente, mesmos dados) para os benchmarks
+public final class BenchmarkData {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    public enum LotShape {
+        // Entradas pequenas e frequentes: cada saída atravessa vários lotes
+        MANY_SMALL_LOTS,
+        // Poucas entradas grandes: a maior parte das saídas consome um único lote
+        FEW_LARGE_LOTS
+    }
+
+    private BenchmarkData() {
+    }
+
+    public static List<Product> catalog(int size, long seed) {
+        return SyntheticDataGenerator.products(spec(size, 0, 0, seed));
+    }
+
+    // Histórico de todo o catálogo com produtos escolhidos por Zipf (skew 0 = uniforme); ajusta o estoque dos produtos
+    public static List<StockMovement> history(List<Product> catalog, long movements, double skew, long seed) {
+        List<StockMovement> history = new ArrayList<>((int) Math.min(Integer.MAX_VALUE, movements));
+        SyntheticDataGenerator.movements(spec(catalog.size(), movements, skew, seed), catalog, history::add);
+        return history;
+    }
+
+    private static SyntheticDataGenerator.Spec spec(int products, long movements, double skew, long seed) {
+        return new SyntheticDataGenerator.Spec(products, movements, skew, seed, START.plusYears(1),
+                Duration.ofDays(365), "BENCH-");
+    }
+
+    // Histórico em ordem de data em que as saídas nunca excedem o saldo (o lucro sempre é calculável)
+    public static List<StockMovement> ledger(Product product, int size, LotShape shape, long firstId, long seed) {
+        Random random = new Random(seed);
+        List<StockMovement> movements = new ArrayList<>(size);
+        long balance = 0;
+        for (int i = 0; i < size; i++) {
+            boolean entry = balance == 0 || (shape == LotShape.MANY_SMALL_LOTS ? random.nextInt(2) == 0 : i % 50 == 0);
+            int quantity;
+            if (entry) {
+                quantity = shape == LotShape.MANY_SMALL_LOTS ? 1 + random.nextInt(5) : 500 + random.nextInt(500);
+                balance += quantity;
+            } else {
+                quantity = (int) Math.min(balance, 1 + random.nextInt(shape == LotShape.MANY_SMALL_LOTS ? 12 : 10));
+                balance -= quantity;
+            }
+            movements.add(movement(product, firstId + i, START.plusMinutes(i), entry, quantity, random));
+        }
+        product.setStockQuantity((int) Math.min(Integer.MAX_VALUE, balance));
+        return movements;
+    }
+
+    private static StockMovement movement(Product product, long id, LocalDateTime date, boolean entry, int quantity,
+            Random random) {
+        StockMovement movement = new StockMovement();
+        movement.setId(id);
+        movement.setProduct(product);
+        movement.setMovementDate(date);
+        movement.setMovementType(entry ? MovementType.ENTRADA : MovementType.SAIDA);
+        movement.setQuantity(quantity);
+        BigDecimal supplierValue = product.getSupplierValue();
+        if (entry) {
+            movement.setPurchaseValue(supplierValue.add(BigDecimal.valueOf(random.nextInt(2_000) - 1_000, 2)).max(BigDecimal.ONE));
+            movement.setSaleValue(supplierValue);
+        } else {
+            movement.setSaleValue(supplierValue.add(BigDecimal.valueOf(500 + random.nextInt(5_000), 2)));
+        }
+        movement.setDescription(entry ? "Compra" : "Venda");
+        return movement;
+    }
+}
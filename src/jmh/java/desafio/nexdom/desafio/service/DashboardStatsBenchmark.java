@@ -0,0 +1,68 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.DashboardStatsDto;
+import desafio.nexdom.desafio.dto.StockMovementDTO;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.model.StockMovement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// getDashboardStats e findAllGroupedByProduct sobre catálogos sintéticos, com repositórios em memória:
+// mede o custo do serviço (custeio, ordenação, agrupamento) sem o tempo de banco
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DashboardStatsBenchmark {
+
+    @Param({"100", "1000"})
+    public int products;
+
+    @Param({"50", "500"})
+    public int movementsPerProduct;
+
+    // Popularidade dos produtos (Zipf): 0 = uniforme, 1.1 = poucos SKUs concentram o movimento
+    @Param({"0", "1.1"})
+    public double skew;
+
+    // false: cada chamada recalcula o lucro de todos os produtos (cache de lucro frio)
+    @Param({"true", "false"})
+    public boolean warmProfitCache;
+
+    private List<Product> catalog;
+    private ProfitCache profitCache;
+    private StockMovementServiceImpl service;
+
+    @Setup
+    public void setUp() {
+        catalog = BenchmarkData.catalog(products, 7);
+        List<StockMovement> movements = BenchmarkData.history(catalog, (long) products * movementsPerProduct, skew, 7);
+        profitCache = new ProfitCache(new SimpleMeterRegistry(), products, Long.MAX_VALUE);
+        service = new StockMovementServiceImpl(InMemoryRepositories.movements(movements),
+                InMemoryRepositories.products(catalog), null, null, null, profitCache,
+                new StockMetrics(new SimpleMeterRegistry()), null);
+    }
+
+    @Benchmark
+    public DashboardStatsDto dashboardStats() {
+        if (!warmProfitCache) {
+            catalog.forEach(product -> profitCache.invalidate(product.getId()));
+        }
+        return service.getDashboardStats();
+    }
+
+    @Benchmark
+    public Map<Long, List<StockMovementDTO>> groupedByProduct() {
+        return service.findAllGroupedByProduct();
+    }
+}
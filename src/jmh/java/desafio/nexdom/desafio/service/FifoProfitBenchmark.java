@@ -0,0 +1,158 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.ProfitResultDto;
+import desafio.nexdom.desafio.model.MovementType;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.model.StockMovement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Custeio FIFO: cálculo completo em centavos, a referência em BigDecimal anterior e o livro incremental.
+// Para ver alocação por operação: -Djmh.args="-prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FifoProfitBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int ledgerSize;
+
+    @Param({"MANY_SMALL_LOTS", "FEW_LARGE_LOTS"})
+    public BenchmarkData.LotShape lotShape;
+
+    private Product product;
+    private List<StockMovement> movements;
+    private FifoLedger ledger;
+    private StockMovement editedEntry;
+    private BigDecimal[] editedCosts;
+    private int edits;
+
+    @Setup
+    public void setUp() {
+        product = BenchmarkData.catalog(1, 42).get(0);
+        movements = BenchmarkData.ledger(product, ledgerSize, lotShape, 1, 42);
+        ledger = loadLedger();
+        // Edita a primeira entrada: o pior caso, todas as posições seguintes são recalculadas
+        editedEntry = movements.stream()
+                .filter(movement -> movement.getMovementType() == MovementType.ENTRADA)
+                .findFirst()
+                .orElseThrow();
+        editedCosts = new BigDecimal[] { editedEntry.getPurchaseValue(), editedEntry.getPurchaseValue().add(BigDecimal.ONE) };
+    }
+
+    @Benchmark
+    public ProfitResultDto centsCalculator() {
+        FifoProfitCalculator calculator = new FifoProfitCalculator(product.getId(), product.getSupplierValue());
+        for (StockMovement movement : movements) {
+            calculator.accept(movement.getMovementType(), movement.getQuantity(),
+                    movement.getPurchaseValue(), movement.getSaleValue());
+        }
+        return calculator.result();
+    }
+
+    @Benchmark
+    public ProfitResultDto bigDecimalBaseline() {
+        BigDecimalFifo calculator = new BigDecimalFifo(product.getSupplierValue());
+        for (StockMovement movement : movements) {
+            calculator.accept(movement.getMovementType(), movement.getQuantity(),
+                    movement.getPurchaseValue(), movement.getSaleValue());
+        }
+        return calculator.result();
+    }
+
+    @Benchmark
+    public ProfitResultDto ledgerLoad() {
+        return loadLedger().result();
+    }
+
+    @Benchmark
+    public ProfitResultDto ledgerEditFirstEntry() {
+        BigDecimal cost = editedCosts[edits++ & 1];
+        ledger.remove(editedEntry.getId(), editedEntry.getMovementDate(), MovementType.ENTRADA);
+        ledger.insert(editedEntry.getId(), editedEntry.getMovementDate(), MovementType.ENTRADA,
+                editedEntry.getQuantity(), cost, null);
+        return ledger.result();
+    }
+
+    @Benchmark
+    public ProfitResultDto ledgerRead() {
+        return ledger.result();
+    }
+
+    private FifoLedger loadLedger() {
+        FifoLedger loaded = new FifoLedger(product.getId(), product.getSupplierValue());
+        for (StockMovement movement : movements) {
+            loaded.insert(movement.getId(), movement.getMovementDate(), movement.getMovementType(),
+                    movement.getQuantity(), movement.getPurchaseValue(), movement.getSaleValue());
+        }
+        return loaded;
+    }
+
+    // Implementação em BigDecimal usada antes do custeio em centavos, mantida aqui só como referência
+    private static final class BigDecimalFifo {
+        private final BigDecimal supplierValue;
+        private final Deque<Lot> lots = new ArrayDeque<>();
+        private final List<Exit> exits = new ArrayList<>();
+
+        private BigDecimalFifo(BigDecimal supplierValue) {
+            this.supplierValue = supplierValue;
+        }
+
+        private void accept(MovementType movementType, int quantity, BigDecimal purchaseValue, BigDecimal saleValue) {
+            if (movementType == MovementType.ENTRADA) {
+                lots.addLast(new Lot(quantity, Optional.ofNullable(purchaseValue).orElse(supplierValue)));
+            } else if (movementType == MovementType.SAIDA) {
+                exits.add(new Exit(quantity, Optional.ofNullable(saleValue).orElse(supplierValue)));
+            }
+        }
+
+        private ProfitResultDto result() {
+            BigDecimal totalRevenue = BigDecimal.ZERO;
+            BigDecimal totalCost = BigDecimal.ZERO;
+            int totalSold = 0;
+            for (Exit exit : exits) {
+                totalSold += exit.quantity();
+                totalRevenue = totalRevenue.add(exit.saleValue().multiply(BigDecimal.valueOf(exit.quantity())));
+                int remaining = exit.quantity();
+                while (remaining > 0 && !lots.isEmpty()) {
+                    Lot lot = lots.peekFirst();
+                    int consumed = Math.min(remaining, lot.available);
+                    totalCost = totalCost.add(lot.unitCost.multiply(BigDecimal.valueOf(consumed)));
+                    remaining -= consumed;
+                    lot.available -= consumed;
+                    if (lot.available == 0) {
+                        lots.pollFirst();
+                    }
+                }
+            }
+            return new ProfitResultDto(totalRevenue.subtract(totalCost), totalSold);
+        }
+
+        private static final class Lot {
+            private int available;
+            private final BigDecimal unitCost;
+
+            private Lot(int available, BigDecimal unitCost) {
+                this.available = available;
+                this.unitCost = unitCost;
+            }
+        }
+
+        private record Exit(int quantity, BigDecimal saleValue) {
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.model.StockMovement;
+import desafio.nexdom.desafio.repository.ProductRepository;
+import desafio.nexdom.desafio.repository.StockMovementRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Repositórios em memória só com as consultas usadas pelos benchmarks, para medir o serviço sem o banco
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static ProductRepository products(List<Product> products) {
+        Map<Long, Product> byId = products.stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+        return proxy(ProductRepository.class, (name, args) -> switch (name) {
+            case "findAll" -> products;
+            case "findById" -> Optional.ofNullable(byId.get((Long) args[0]));
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    static StockMovementRepository movements(List<StockMovement> movements) {
+        Map<Long, List<StockMovement>> byProduct = movements.stream()
+                .collect(Collectors.groupingBy(movement -> movement.getProduct().getId()));
+        return proxy(StockMovementRepository.class, (name, args) -> switch (name) {
+            case "findAll" -> movements;
+            case "findByProduct_IdOrderByMovementDateAsc" -> byProduct.getOrDefault((Long) args[0], List.of());
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        Object instance = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (self, method, args) ->
+                method.getDeclaringClass() == Object.class ? method.invoke(handler, args) : handler.handle(method.getName(), args));
+        return type.cast(instance);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+}
@@ -0,0 +1,79 @@
+package desafio.nexdom.desafio.config;
+
+import desafio.nexdom.desafio.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Bulkhead {
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long maxWaitMs;
+    private final long retryAfterSeconds;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, long maxWaitMs, long retryAfterSeconds) {
+        this.name = name;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxQueued = Math.max(0, maxQueued);
+        this.maxWaitMs = Math.max(0, maxWaitMs);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+        this.permits = new Semaphore(this.maxConcurrent, true);
+    }
+
+    public Bulkhead bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("bulkhead.active", this, Bulkhead::active).tag("name", name).register(meterRegistry);
+        Gauge.builder("bulkhead.queued", queued, AtomicInteger::get).tag("name", name).register(meterRegistry);
+        Gauge.builder("bulkhead.max.concurrent", this, bulkhead -> bulkhead.maxConcurrent).tag("name", name).register(meterRegistry);
+        Gauge.builder("bulkhead.max.queued", this, bulkhead -> bulkhead.maxQueued).tag("name", name).register(meterRegistry);
+        rejected = meterRegistry.counter("bulkhead.rejected", "name", name);
+        return this;
+    }
+
+    public void acquire() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        // A fila é limitada: acima dela a requisição é recusada na hora, sem ocupar mais uma thread esperando
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            throw reject();
+        }
+        try {
+            if (!permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                throw reject();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject();
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    private BulkheadFullException reject() {
+        if (rejected != null) {
+            rejected.increment();
+        }
+        return new BulkheadFullException(name, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,33 @@
+package desafio.nexdom.desafio.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Endpoints analíticos pesados dividem um limite próprio de concorrência, abaixo do pool de conexões,
+// para que nunca consumam todas as threads/conexões de que o registro de movimentações precisa
+@Configuration
+public class BulkheadConfig implements WebMvcConfigurer {
+    private final Bulkhead analytics;
+
+    public BulkheadConfig(ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${bulkhead.analytics.max-concurrent:4}") int maxConcurrent,
+            @Value("${bulkhead.analytics.max-queued:8}") int maxQueued,
+            @Value("${bulkhead.analytics.max-wait-ms:500}") long maxWaitMs,
+            @Value("${bulkhead.analytics.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.analytics = new Bulkhead("analytics", maxConcurrent, maxQueued, maxWaitMs, retryAfterSeconds);
+        meterRegistry.ifAvailable(analytics::bindTo);
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(new BulkheadInterceptor(analytics, "analytics"))
+                // Padrões exatos: /by-product carrega o ledger inteiro, /by-product/{productId} é leitura de um produto
+                .addPathPatterns("/api/stock-movements/by-product", "/api/stock-movements/profit",
+                        "/api/stock-history/valuation", "/api/stock-reconciliation");
+    }
+}
@@ -0,0 +1,44 @@
+package desafio.nexdom.desafio.config;
+
+import desafio.nexdom.desafio.service.Coalesced;
+import desafio.nexdom.desafio.service.RequestCoalescer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringValueResolver;
+
+import java.util.Arrays;
+
+// Precedência máxima: a coalescência acontece antes de abrir a transação, então quem espera não segura conexão
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CoalescingAspect implements EmbeddedValueResolverAware {
+
+    private final RequestCoalescer requestCoalescer;
+    private StringValueResolver valueResolver;
+
+    public CoalescingAspect(RequestCoalescer requestCoalescer) {
+        this.requestCoalescer = requestCoalescer;
+    }
+
+    @Override
+    public void setEmbeddedValueResolver(StringValueResolver resolver) {
+        this.valueResolver = resolver;
+    }
+
+    @Around("@annotation(coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, Coalesced coalesced) throws Throwable {
+        String operation = joinPoint.getSignature().getName();
+        String key = joinPoint.getSignature().getDeclaringTypeName() + "." + operation
+                + Arrays.deepToString(joinPoint.getArgs());
+        long ttl = Long.parseLong(valueResolver != null
+                ? valueResolver.resolveStringValue(coalesced.resultTtlMs())
+                : coalesced.resultTtlMs());
+        return requestCoalescer.execute(operation, key, ttl, joinPoint::proceed);
+    }
+}
@@ -0,0 +1,36 @@
+package desafio.nexdom.desafio.config;
+
+import desafio.nexdom.desafio.controller.ProductController;
+import desafio.nexdom.desafio.controller.StockMovementController;
+import desafio.nexdom.desafio.interfaces.IEndpointLatencyService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Set;
+
+// Histogramas de latência dos endpoints de produtos e movimentações; sem o serviço no contexto
+// (p.ex. @WebMvcTest) o interceptor não é registrado
+@Configuration
+public class EndpointLatencyConfig implements WebMvcConfigurer {
+    private final ObjectProvider<IEndpointLatencyService> latencyService;
+    private final boolean enabled;
+
+    public EndpointLatencyConfig(ObjectProvider<IEndpointLatencyService> latencyService,
+            @Value("${latency.histogram.enabled:true}") boolean enabled) {
+        this.latencyService = latencyService;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        IEndpointLatencyService service = latencyService.getIfAvailable();
+        if (enabled && service != null) {
+            registry.addInterceptor(new EndpointLatencyInterceptor(service,
+                    Set.of(ProductController.class, StockMovementController.class)));
+        }
+    }
+}
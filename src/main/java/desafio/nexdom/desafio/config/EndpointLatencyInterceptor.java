@@ -0,0 +1,44 @@
+package desafio.nexdom.desafio.config;
+
+import desafio.nexdom.desafio.interfaces.IEndpointLatencyService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Set;
+
+public class EndpointLatencyInterceptor implements HandlerInterceptor {
+    private static final String STARTED_ATTRIBUTE = EndpointLatencyInterceptor.class.getName() + ".started";
+
+    private final IEndpointLatencyService latencyService;
+    private final Set<Class<?>> controllers;
+
+    public EndpointLatencyInterceptor(IEndpointLatencyService latencyService, Set<Class<?>> controllers) {
+        this.latencyService = latencyService;
+        this.controllers = controllers;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (handler instanceof HandlerMethod method && controllers.contains(method.getBeanType())) {
+            request.setAttribute(STARTED_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    // Chamado depois da resolução de exceções, então o status já é o que o cliente recebe
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler, Exception ex) {
+        if (request.getAttribute(STARTED_ATTRIBUTE) instanceof Long started) {
+            request.removeAttribute(STARTED_ATTRIBUTE);
+            // Padrão da rota (/api/products/{id}), não a URL, para não criar uma série por id
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+            latencyService.record(endpoint, response.getStatus(), System.nanoTime() - started);
+        }
+    }
+}
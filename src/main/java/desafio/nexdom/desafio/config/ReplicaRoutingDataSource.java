@@ -0,0 +1,161 @@
+package desafio.nexdom.desafio.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Envia transações somente leitura para a réplica enquanto ela estiver saudável e dentro do atraso tolerado.
+// Precisa ficar atrás de um LazyConnectionDataSourceProxy: a flag readOnly só existe depois do início da transação.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagMs;
+    private final String lagQuery;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter fallbacks;
+    private volatile boolean replicaUsable = true;
+    private volatile long lastLagMs;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry,
+            long maxLagMs, String lagQuery) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMs = maxLagMs;
+        this.lagQuery = lagQuery;
+        this.primaryRoutes = meterRegistry.counter("datasource.routing.connections", "target", "primary");
+        this.replicaRoutes = meterRegistry.counter("datasource.routing.connections", "target", "replica");
+        this.fallbacks = meterRegistry.counter("datasource.routing.fallbacks");
+        Gauge.builder("datasource.replica.lag", this, source -> source.lastLagMs / 1000.0)
+                .baseUnit("seconds")
+                .description("Último atraso medido da réplica")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, source -> source.replicaUsable ? 1 : 0)
+                .description("1 quando leituras somente leitura estão indo para a réplica")
+                .register(meterRegistry);
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return replicaUsable && FORCE_PRIMARY.get() == null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? Route.REPLICA
+                : Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == Route.REPLICA) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaRoutes.increment();
+                return connection;
+            } catch (SQLException e) {
+                markReplicaDown(e.getMessage());
+                fallbacks.increment();
+            }
+        }
+        primaryRoutes.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (determineCurrentLookupKey() == Route.REPLICA) {
+            try {
+                Connection connection = replica.getConnection(username, password);
+                replicaRoutes.increment();
+                return connection;
+            } catch (SQLException e) {
+                markReplicaDown(e.getMessage());
+                fallbacks.increment();
+            }
+        }
+        primaryRoutes.increment();
+        return primary.getConnection(username, password);
+    }
+
+    // Sem lag-query a réplica só precisa responder; com ela, o atraso (em segundos) precisa ficar dentro do limite
+    @Scheduled(fixedDelayString = "${datasource.replica.probe-interval-ms:5000}")
+    public void probe() {
+        try (Connection connection = replica.getConnection()) {
+            long lagMs = 0;
+            if (lagQuery != null && !lagQuery.isBlank()) {
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                    if (resultSet.next()) {
+                        lagMs = Math.round(resultSet.getDouble(1) * 1000);
+                    }
+                }
+            } else if (!connection.isValid(1)) {
+                markReplicaDown("conexão inválida");
+                return;
+            }
+            lastLagMs = lagMs;
+            boolean usable = lagMs <= maxLagMs;
+            if (usable != replicaUsable) {
+                if (usable) {
+                    LOG.info("Réplica de leitura disponível novamente (atraso de {} ms)", lagMs);
+                } else {
+                    LOG.warn("Réplica de leitura com atraso de {} ms (limite {} ms); leituras voltam para o primário", lagMs, maxLagMs);
+                }
+            }
+            replicaUsable = usable;
+        } catch (SQLException e) {
+            markReplicaDown(e.getMessage());
+        }
+    }
+
+    // Cargas que alimentam caches e índices logo após uma escrita leem do primário: a réplica pode ainda não ter
+    // o commit, e o dado velho ficaria guardado sob a versão nova. Vale para conexões obtidas dentro da chamada.
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            }
+        }
+    }
+
+    public static void runOnPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    private void markReplicaDown(String reason) {
+        if (replicaUsable) {
+            LOG.warn("Réplica de leitura indisponível, usando o primário: {}", reason);
+        }
+        replicaUsable = false;
+    }
+}
@@ -0,0 +1,34 @@
+package desafio.nexdom.desafio.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Orçamento de comandos SQL de uma unidade de trabalho: uma requisição HTTP (StatementBudgetFilter) ou um
+// recálculo em segundo plano. Acima dele a operação é sinalizada como possível N+1
+public class StatementBudget {
+    private static final Logger LOG = LoggerFactory.getLogger(StatementBudget.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int budget;
+
+    public StatementBudget(MeterRegistry meterRegistry, int budget) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+    }
+
+    public void check(StatementStats.Scope scope, Supplier<String> operation) {
+        if (budget <= 0 || scope.statements() <= budget) {
+            return;
+        }
+        String name = operation.get();
+        LOG.warn("{} executou {} comandos SQL em {} ms, acima do orçamento de {}: possível N+1",
+                name, scope.statements(), TimeUnit.NANOSECONDS.toMillis(scope.elapsedNanos()), budget);
+        if (meterRegistry != null) {
+            meterRegistry.counter("datasource.statements.budget.exceeded", "endpoint", name).increment();
+        }
+    }
+}
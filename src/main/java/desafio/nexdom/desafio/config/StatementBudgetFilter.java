@@ -0,0 +1,44 @@
+package desafio.nexdom.desafio.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Conta os comandos SQL de cada requisição; acima do orçamento a requisição é sinalizada como possível N+1
+public class StatementBudgetFilter extends OncePerRequestFilter {
+    private final StatementBudget budget;
+    private final DistributionSummary statementsPerRequest;
+
+    public StatementBudgetFilter(MeterRegistry meterRegistry, StatementBudget budget) {
+        this.budget = budget;
+        this.statementsPerRequest = meterRegistry == null ? null
+                : DistributionSummary.builder("datasource.statements.per.request")
+                        .description("Comandos SQL executados por requisição HTTP")
+                        .baseUnit("statements")
+                        .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        try (StatementStats.Scope scope = StatementStats.open()) {
+            filterChain.doFilter(request, response);
+
+            if (statementsPerRequest != null) {
+                statementsPerRequest.record(scope.statements());
+            }
+            budget.check(scope, () -> {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+            });
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package desafio.nexdom.desafio.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// Envolve conexões e comandos JDBC para contar cada execução no StatementStats da thread e registrar
+// consultas acima do limite com o SQL e o formato dos parâmetros (tipos, nunca os valores)
+public class StatementInspectingDataSource extends DelegatingDataSource {
+    private static final Logger LOG = LoggerFactory.getLogger(StatementInspectingDataSource.class);
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final long slowQueryNanos;
+
+    public StatementInspectingDataSource(DataSource target, long slowQueryMs) {
+        super(target);
+        // 0 ou negativo desliga o registro de consultas lentas, mas não a contagem
+        this.slowQueryNanos = slowQueryMs > 0 ? TimeUnit.MILLISECONDS.toNanos(slowQueryMs) : Long.MAX_VALUE;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(StatementInspectingDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "createStatement" -> statement(Statement.class, (Statement) result, null);
+                        case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                        case "prepareCall" -> statement(CallableStatement.class, (Statement) result, (String) args[0]);
+                        default -> result;
+                    };
+                });
+    }
+
+    private <T extends Statement> T statement(Class<T> type, Statement target, String preparedSql) {
+        return type.cast(Proxy.newProxyInstance(StatementInspectingDataSource.class.getClassLoader(),
+                new Class<?>[] { type }, new StatementHandler(target, preparedSql)));
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private final Map<Integer, String> parameterShapes = new TreeMap<>();
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameterShapes.put(index, name.equals("setNull") || args[1] == null
+                        ? "null" : args[1].getClass().getSimpleName());
+            } else if (name.equals("clearParameters")) {
+                parameterShapes.clear();
+            }
+            if (!EXECUTE_METHODS.contains(name)) {
+                return StatementInspectingDataSource.invoke(target, method, args);
+            }
+
+            long started = System.nanoTime();
+            try {
+                return StatementInspectingDataSource.invoke(target, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - started;
+                StatementStats.record(elapsed);
+                if (elapsed >= slowQueryNanos) {
+                    String sql = preparedSql != null ? preparedSql
+                            : args != null && args.length > 0 ? String.valueOf(args[0]) : "(lote de comandos)";
+                    LOG.warn("Consulta lenta ({} ms): {} parâmetros {}", TimeUnit.NANOSECONDS.toMillis(elapsed),
+                            sql, parameterShapes.values());
+                }
+            }
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
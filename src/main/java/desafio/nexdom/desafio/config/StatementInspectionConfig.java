@@ -0,0 +1,51 @@
+package desafio.nexdom.desafio.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+
+// Proxy de inspeção de SQL sobre o DataSource principal (o "dataSource", com ou sem roteamento para réplica)
+// e o filtro que aplica o orçamento de comandos por requisição
+@Configuration
+// Desligado por padrão: cada comando JDBC passa por dois proxies reflexivos, custo que só vale em dev e nos testes
+@ConditionalOnProperty(prefix = "datasource.inspection", name = "enabled", havingValue = "true")
+public class StatementInspectionConfig {
+
+    @Bean
+    public static BeanPostProcessor statementInspectingDataSourcePostProcessor(
+            @Value("${datasource.inspection.slow-query-ms:200}") long slowQueryMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                        && !(bean instanceof StatementInspectingDataSource)) {
+                    return new StatementInspectingDataSource(dataSource, slowQueryMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public StatementBudget statementBudget(ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${datasource.inspection.statement-budget:25}") int statementBudget) {
+        return new StatementBudget(meterRegistry.getIfAvailable(), statementBudget);
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementBudgetFilter> statementBudgetFilter(
+            ObjectProvider<MeterRegistry> meterRegistry, StatementBudget statementBudget) {
+        FilterRegistrationBean<StatementBudgetFilter> registration = new FilterRegistrationBean<>(
+                new StatementBudgetFilter(meterRegistry.getIfAvailable(), statementBudget));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,43 @@
+package desafio.nexdom.desafio.config;
+
+import desafio.nexdom.desafio.service.SyntheticDataGenerator;
+import desafio.nexdom.desafio.service.SyntheticDataLoader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Com o perfil "datagen" a aplicação popula a base antes de ficar pronta; os índices em memória
+// (busca, estoque baixo) são reconstruídos no ApplicationReadyEvent e já enxergam os dados gerados
+@Component
+@Profile("datagen")
+public class SyntheticDataRunner implements ApplicationRunner {
+    private final SyntheticDataLoader loader;
+    private final SyntheticDataGenerator.Spec spec;
+    private final int batchSize;
+
+    public SyntheticDataRunner(SyntheticDataLoader loader,
+            @Value("${datagen.products:1000}") int products,
+            @Value("${datagen.movements:100000}") long movements,
+            @Value("${datagen.skew:1.0}") double skew,
+            @Value("${datagen.seed:42}") long seed,
+            @Value("${datagen.span-days:365}") int spanDays,
+            @Value("${datagen.end:2025-01-01T00:00:00}") String end,
+            @Value("${datagen.code-prefix:SYN-}") String codePrefix,
+            @Value("${datagen.batch-size:1000}") int batchSize) {
+        this.loader = loader;
+        // Data final fixa: com a mesma semente, duas execuções geram exatamente o mesmo histórico
+        this.spec = new SyntheticDataGenerator.Spec(products, movements, skew, seed, LocalDateTime.parse(end),
+                Duration.ofDays(spanDays), codePrefix);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        loader.load(spec, batchSize);
+    }
+}
@@ -0,0 +1,31 @@
+package desafio.nexdom.desafio.controller;
+
+import desafio.nexdom.desafio.service.InventoryEventBroadcaster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+public class InventoryEventsController {
+    private static final Logger LOG = LoggerFactory.getLogger(InventoryEventsController.class);
+
+    private final InventoryEventBroadcaster broadcaster;
+
+    @Autowired
+    public InventoryEventsController(InventoryEventBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(value = "/inventory", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamInventoryEvents() {
+        SseEmitter emitter = broadcaster.subscribe();
+        LOG.info("Novo assinante do stream de estoque ({} conectados)", broadcaster.subscriberCount());
+        return emitter;
+    }
+}
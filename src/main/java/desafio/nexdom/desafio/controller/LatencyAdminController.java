@@ -0,0 +1,39 @@
+package desafio.nexdom.desafio.controller;
+
+import desafio.nexdom.desafio.dto.EndpointLatencySnapshot;
+import desafio.nexdom.desafio.interfaces.IEndpointLatencyService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/latency")
+public class LatencyAdminController {
+    private static final Logger LOG = LoggerFactory.getLogger(LatencyAdminController.class);
+
+    private final IEndpointLatencyService latencyService;
+
+    @Autowired
+    public LatencyAdminController(IEndpointLatencyService latencyService) {
+        this.latencyService = latencyService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<EndpointLatencySnapshot>> getHistograms() {
+        return ResponseEntity.ok(latencyService.snapshot());
+    }
+
+    // Devolve o acumulado até aqui e zera os histogramas para a próxima janela de medição
+    @PostMapping("/reset")
+    public ResponseEntity<List<EndpointLatencySnapshot>> resetHistograms() {
+        LOG.info("Reiniciando histogramas de latência dos endpoints");
+        return ResponseEntity.ok(latencyService.snapshotAndReset());
+    }
+}
@@ -1,9 +1,20 @@
 package desafio.nexdom.desafio.controller;
 
+import desafio.nexdom.desafio.dto.ProductBatchResponse;
+import desafio.nexdom.desafio.dto.LowStockItem;
+import desafio.nexdom.desafio.dto.ProductImportReport;
 import desafio.nexdom.desafio.dto.ProductRequest;
 import desafio.nexdom.desafio.dto.ProductResponse;
+import desafio.nexdom.desafio.dto.ProductSearchResponse;
 import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.exception.BatchSizeExceededException;
+import desafio.nexdom.desafio.exception.InvalidImportFileException;
+import desafio.nexdom.desafio.interfaces.ILowStockService;
+import desafio.nexdom.desafio.interfaces.IProductImportService;
+import desafio.nexdom.desafio.interfaces.IProductSearchService;
 import desafio.nexdom.desafio.interfaces.IProductService;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -11,6 +22,7 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.data.domain.Page;
@@ -18,6 +30,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -34,11 +47,21 @@ public class ProductController {
     private static final Logger LOG = LoggerFactory.getLogger(ProductController.class);
 
     private final IProductService productService;
+    private final IProductImportService productImportService;
+    private final IProductSearchService productSearchService;
+    private final ILowStockService lowStockService;
+    private final int maxBatchIds;
 
 
     @Autowired
-    public ProductController(IProductService productService) {
+    public ProductController(IProductService productService, IProductImportService productImportService,
+            IProductSearchService productSearchService, ILowStockService lowStockService,
+            @Value("${product.batch.max-ids:500}") int maxBatchIds) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.productSearchService = productSearchService;
+        this.lowStockService = lowStockService;
+        this.maxBatchIds = maxBatchIds;
     }
 
    
@@ -54,6 +77,39 @@ public class ProductController {
         return new ResponseEntity<>(responses, HttpStatus.OK);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResponse> searchProducts(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        LOG.debug("Buscando produtos por termo: '{}' página: {}", query, page);
+        return ResponseEntity.ok(productSearchService.search(query, page, size));
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<ProductBatchResponse> getProductsByIds(
+            @RequestParam("ids") List<Long> ids) {
+        if (ids.size() > maxBatchIds) {
+            throw new BatchSizeExceededException(ids.size(), maxBatchIds);
+        }
+        LOG.info("Buscando {} produtos por ID em lote", ids.size());
+        Map<Long, Product> found = productService.findAllByIds(ids);
+        Map<Long, ProductResponse> responses = new LinkedHashMap<>();
+        found.forEach((id, product) -> responses.put(id, ProductResponse.fromEntity(product)));
+        List<Long> missingIds = ids.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .filter(id -> !found.containsKey(id))
+            .collect(Collectors.toList());
+        return ResponseEntity.ok(new ProductBatchResponse(responses, missingIds));
+    }
+
+    @GetMapping("/low-stock")
+    public ResponseEntity<List<LowStockItem>> getLowStockProducts(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(lowStockService.findMostUrgent(limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponse> getProductById(
             @PathVariable Long id) {
@@ -74,6 +130,9 @@ public class ProductController {
         product.setType(productRequest.getType());
         product.setSupplierValue(productRequest.getSupplierValue());
         product.setStockQuantity(productRequest.getStockQuantity());
+        if (productRequest.getReorderThreshold() != null) {
+            product.setReorderThreshold(productRequest.getReorderThreshold());
+        }
         
         Product savedProduct = productService.save(product);
         
@@ -92,6 +151,23 @@ public class ProductController {
         return new ResponseEntity<>(response, headers, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProductImportReport> importProducts(
+            @RequestParam("file") MultipartFile file) {
+        LOG.info("Importando produtos do arquivo: {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        if (file.isEmpty()) {
+            throw new InvalidImportFileException("O arquivo CSV está vazio");
+        }
+        try (InputStream input = file.getInputStream()) {
+            ProductImportReport report = productImportService.importCsv(input);
+            LOG.info("Importação finalizada: {} inseridos, {} atualizados, {} em conflito, {} rejeitados",
+                    report.getInserted(), report.getUpdated(), report.getConflicts(), report.getRejected());
+            return ResponseEntity.ok(report);
+        } catch (IOException e) {
+            throw new InvalidImportFileException("Não foi possível ler o arquivo enviado", e);
+        }
+    }
+
   
     @PutMapping("/{id}")
     public ResponseEntity<ProductResponse> updateProduct(
@@ -106,6 +182,9 @@ public class ProductController {
         existingProduct.setType(productRequest.getType());
         existingProduct.setSupplierValue(productRequest.getSupplierValue());
         existingProduct.setStockQuantity(productRequest.getStockQuantity());
+        if (productRequest.getReorderThreshold() != null) {
+            existingProduct.setReorderThreshold(productRequest.getReorderThreshold());
+        }
         
         Product updatedProduct = productService.save(existingProduct);
         
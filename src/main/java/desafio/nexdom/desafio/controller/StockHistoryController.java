@@ -0,0 +1,46 @@
+package desafio.nexdom.desafio.controller;
+
+import desafio.nexdom.desafio.dto.CatalogValuationDto;
+import desafio.nexdom.desafio.dto.CheckpointRunDto;
+import desafio.nexdom.desafio.dto.StockAsOfDto;
+import desafio.nexdom.desafio.interfaces.IStockHistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/stock-history")
+public class StockHistoryController {
+    private final IStockHistoryService stockHistoryService;
+
+    @Autowired
+    public StockHistoryController(IStockHistoryService stockHistoryService) {
+        this.stockHistoryService = stockHistoryService;
+    }
+
+    @GetMapping("/products/{productId}")
+    public ResponseEntity<StockAsOfDto> getStockAsOf(
+            @PathVariable Long productId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(stockHistoryService.getStockAsOf(productId, asOf));
+    }
+
+    @GetMapping("/valuation")
+    public ResponseEntity<CatalogValuationDto> getCatalogValuation(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(stockHistoryService.valueCatalogAsOf(asOf));
+    }
+
+    @PostMapping("/checkpoints")
+    public ResponseEntity<CheckpointRunDto> createCheckpoints() {
+        return ResponseEntity.ok(stockHistoryService.createCheckpoints());
+    }
+}
@@ -2,13 +2,20 @@ package desafio.nexdom.desafio.controller;
 
 import desafio.nexdom.desafio.dto.CreateStockMovementResponse;
 import desafio.nexdom.desafio.dto.DashboardStatsDto;
+import desafio.nexdom.desafio.dto.MovementBatchDeleteResponse;
+import desafio.nexdom.desafio.dto.MovementCursorPage;
 import desafio.nexdom.desafio.dto.ProductProfitDto;
+import desafio.nexdom.desafio.dto.ProfitBatchResponse;
+import desafio.nexdom.desafio.exception.BatchSizeExceededException;
+import desafio.nexdom.desafio.dto.StockMovementFilter;
 import desafio.nexdom.desafio.dto.StockMovementRequest;
 import desafio.nexdom.desafio.hateoas.StockMovementModel;
 import desafio.nexdom.desafio.model.StockMovement;
+import desafio.nexdom.desafio.service.DashboardStatsCache;
 import desafio.nexdom.desafio.interfaces.IStockMovementService;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -29,12 +36,21 @@ import java.util.stream.Collectors;
 public class StockMovementController {
     private final IStockMovementService stockMovementService;
     private final desafio.nexdom.desafio.hateoas.HateoasResponseAssembler hateoasAssembler;
+    private final DashboardStatsCache dashboardStatsCache;
+    private final int maxProfitBatchIds;
+    private final int maxDeleteBatchIds;
     
     @Autowired
     public StockMovementController(IStockMovementService stockMovementService, 
-                                  desafio.nexdom.desafio.hateoas.HateoasResponseAssembler hateoasAssembler) {
+                                  desafio.nexdom.desafio.hateoas.HateoasResponseAssembler hateoasAssembler,
+                                  DashboardStatsCache dashboardStatsCache,
+                                  @Value("${stock.profit.batch.max-ids:500}") int maxProfitBatchIds,
+                                  @Value("${stock.movements.delete.max-ids:500}") int maxDeleteBatchIds) {
         this.stockMovementService = stockMovementService;
         this.hateoasAssembler = hateoasAssembler;
+        this.dashboardStatsCache = dashboardStatsCache;
+        this.maxProfitBatchIds = maxProfitBatchIds;
+        this.maxDeleteBatchIds = maxDeleteBatchIds;
     }
 
     @GetMapping("/{id}")
@@ -49,6 +65,25 @@ public class StockMovementController {
         return ResponseEntity.ok(model);
     }
 
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteMovement(@PathVariable Long id) {
+        stockMovementService.deleteMovement(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<MovementBatchDeleteResponse> deleteMovements(@RequestParam("ids") List<Long> ids) {
+        if (ids.size() > maxDeleteBatchIds) {
+            throw new BatchSizeExceededException(ids.size(), maxDeleteBatchIds);
+        }
+        List<Long> deletedIds = stockMovementService.deleteMovements(ids);
+        List<Long> missingIds = ids.stream()
+            .distinct()
+            .filter(id -> !deletedIds.contains(id))
+            .collect(Collectors.toList());
+        return ResponseEntity.ok(new MovementBatchDeleteResponse(deletedIds, missingIds));
+    }
+
     @GetMapping
     @ResponseBody
     public ResponseEntity<List<StockMovementModel>> getAllMovements(
@@ -62,6 +97,14 @@ public class StockMovementController {
         return new ResponseEntity<>(models, org.springframework.http.HttpStatus.OK);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<MovementCursorPage> searchMovements(
+            StockMovementFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(stockMovementService.findMovements(filter, cursor, size));
+    }
+
     @PostMapping
     public ResponseEntity<CreateStockMovementResponse> createMovement(@Valid @RequestBody StockMovementRequest request) {
         CreateStockMovementResponse response = stockMovementService.createStockMovement(request);
@@ -105,8 +148,16 @@ public class StockMovementController {
         return hateoasAssembler.createProfitResponse(profitResult, productId);
     }
     
+    @GetMapping("/profit")
+    public ResponseEntity<ProfitBatchResponse> getProfitByProducts(@RequestParam("productIds") List<Long> productIds) {
+        if (productIds.size() > maxProfitBatchIds) {
+            throw new BatchSizeExceededException(productIds.size(), maxProfitBatchIds);
+        }
+        return ResponseEntity.ok(stockMovementService.calculateProfitForProducts(productIds));
+    }
+    
     @GetMapping("/dashboard/stats")
     public ResponseEntity<DashboardStatsDto> getDashboardStats() {
-        return ResponseEntity.ok(stockMovementService.getDashboardStats());
+        return ResponseEntity.ok(dashboardStatsCache.get());
     }
 }
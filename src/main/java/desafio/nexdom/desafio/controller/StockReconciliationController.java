@@ -0,0 +1,39 @@
+package desafio.nexdom.desafio.controller;
+
+import desafio.nexdom.desafio.dto.StockReconciliationProgress;
+import desafio.nexdom.desafio.dto.StockReconciliationReport;
+import desafio.nexdom.desafio.interfaces.IStockReconciliationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stock-reconciliation")
+public class StockReconciliationController {
+    private static final Logger LOG = LoggerFactory.getLogger(StockReconciliationController.class);
+
+    private final IStockReconciliationService reconciliationService;
+
+    @Autowired
+    public StockReconciliationController(IStockReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    @PostMapping
+    public ResponseEntity<StockReconciliationReport> reconcile(
+            @RequestParam(defaultValue = "false") boolean autoCorrect) {
+        LOG.info("Iniciando conciliação de estoque (correção automática: {})", autoCorrect);
+        return ResponseEntity.ok(reconciliationService.reconcile(autoCorrect));
+    }
+
+    @GetMapping("/progress")
+    public ResponseEntity<StockReconciliationProgress> getProgress() {
+        return ResponseEntity.ok(reconciliationService.getProgress());
+    }
+}
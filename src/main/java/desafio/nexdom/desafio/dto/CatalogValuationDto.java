@@ -0,0 +1,23 @@
+package desafio.nexdom.desafio.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogValuationDto {
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime asOf;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime checkpointAt;
+    private long products;
+    private long totalUnits;
+    // Valorizado pelo valor de fornecedor atual de cada produto
+    private BigDecimal totalValue;
+}
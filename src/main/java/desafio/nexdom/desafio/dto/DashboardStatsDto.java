@@ -1,16 +1,29 @@
 package desafio.nexdom.desafio.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class DashboardStatsDto {
     private BigDecimal totalStockValue;
     private List<ProductProfitDto> topProfitProducts;
+    private Instant generatedAt;
+    private Long snapshotAgeMs;
     
     public DashboardStatsDto(BigDecimal totalStockValue, List<ProductProfitDto> topProfitProducts) {
         this.totalStockValue = totalStockValue;
         this.topProfitProducts = topProfitProducts;
     }
+
+    public DashboardStatsDto(BigDecimal totalStockValue, List<ProductProfitDto> topProfitProducts,
+            Instant generatedAt, Long snapshotAgeMs) {
+        this(totalStockValue, topProfitProducts);
+        this.generatedAt = generatedAt;
+        this.snapshotAgeMs = snapshotAgeMs;
+    }
     
     public BigDecimal getTotalStockValue() {
         return totalStockValue;
@@ -19,4 +32,12 @@ public class DashboardStatsDto {
     public List<ProductProfitDto> getTopProfitProducts() {
         return topProfitProducts;
     }
+
+    public Instant getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public Long getSnapshotAgeMs() {
+        return snapshotAgeMs;
+    }
 }
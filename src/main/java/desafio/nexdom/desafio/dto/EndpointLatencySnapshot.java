@@ -0,0 +1,24 @@
+package desafio.nexdom.desafio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EndpointLatencySnapshot {
+    private String endpoint;
+    private String status;
+    private long count;
+    private double meanMs;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double p999Ms;
+    private double maxMs;
+    // Limite do SLO em ms -> fração das requisições atendidas dentro dele
+    private Map<Long, Double> withinSlo;
+}
@@ -0,0 +1,32 @@
+package desafio.nexdom.desafio.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InventoryDelta {
+    public static final String MOVEMENT = "movement";
+    public static final String PRODUCT = "product";
+    public static final String HEARTBEAT = "heartbeat";
+    public static final String LOW_STOCK = "low-stock";
+
+    private String type;
+    private Long productId;
+    private Long movementId;
+    private String movementType;
+    private Integer quantity;
+    private Integer stockQuantity;
+    private BigDecimal stockValueDelta;
+    private Boolean deleted;
+    private Integer reorderThreshold;
+    private Boolean lowStock;
+    private Instant timestamp;
+}
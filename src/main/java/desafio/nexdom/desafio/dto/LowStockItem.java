@@ -0,0 +1,18 @@
+package desafio.nexdom.desafio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LowStockItem {
+    private Long productId;
+    private String code;
+    private String description;
+    private int stockQuantity;
+    private int reorderThreshold;
+    // Negativo quando o estoque está abaixo do ponto de reposição; quanto menor, mais urgente
+    private int headroom;
+}
@@ -0,0 +1,15 @@
+package desafio.nexdom.desafio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MovementBatchDeleteResponse {
+    private List<Long> deletedIds;
+    private List<Long> missingIds;
+}
@@ -0,0 +1,18 @@
+package desafio.nexdom.desafio.dto;
+
+import desafio.nexdom.desafio.hateoas.StockMovementModel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MovementCursorPage {
+    private List<StockMovementModel> items;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+}
@@ -0,0 +1,20 @@
+package desafio.nexdom.desafio.dto;
+
+import desafio.nexdom.desafio.model.MovementType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class MovementLedgerEntry {
+    private final Long id;
+    private final Long productId;
+    private final MovementType movementType;
+    private final Integer quantity;
+    private final BigDecimal purchaseValue;
+    private final BigDecimal saleValue;
+    private final LocalDateTime movementDate;
+}
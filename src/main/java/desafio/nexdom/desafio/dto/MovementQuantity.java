@@ -0,0 +1,13 @@
+package desafio.nexdom.desafio.dto;
+
+import desafio.nexdom.desafio.model.MovementType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MovementQuantity {
+    private final Long productId;
+    private final MovementType movementType;
+    private final Integer quantity;
+}
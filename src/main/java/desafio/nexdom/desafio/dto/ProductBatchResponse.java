@@ -0,0 +1,16 @@
+package desafio.nexdom.desafio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductBatchResponse {
+    private Map<Long, ProductResponse> products;
+    private List<Long> missingIds;
+}
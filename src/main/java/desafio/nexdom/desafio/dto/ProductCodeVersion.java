@@ -0,0 +1,11 @@
+package desafio.nexdom.desafio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductCodeVersion {
+    private final String code;
+    private final Long version;
+}
@@ -0,0 +1,11 @@
+package desafio.nexdom.desafio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductNetQuantity {
+    private final Long productId;
+    private final Long netQuantity;
+}
@@ -7,9 +7,9 @@ public class ProductProfitDto {
     private String code;
     private String description;
     private BigDecimal totalProfit;
-    private int totalSold;
+    private long totalSold;
     
-    public ProductProfitDto(Long id, String code, String description, BigDecimal totalProfit, int totalSold) {
+    public ProductProfitDto(Long id, String code, String description, BigDecimal totalProfit, long totalSold) {
         this.id = id;
         this.code = code;
         this.description = description;
@@ -33,7 +33,7 @@ public class ProductProfitDto {
         return totalProfit;
     }
     
-    public int getTotalSold() {
+    public long getTotalSold() {
         return totalSold;
     }
 }
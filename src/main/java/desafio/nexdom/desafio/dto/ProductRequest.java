@@ -22,6 +22,7 @@ public class ProductRequest {
     
     @NotNull(message = "O valor de fornecedor é obrigatório")
     @DecimalMin(value = "0.01", message = "O valor de fornecedor deve ser maior que zero")
+    @Digits(integer = 17, fraction = 2, message = "O valor de fornecedor deve ter no máximo 2 casas decimais")
     @Schema(description = "Valor de compra do fornecedor", example = "1500.00")
     private BigDecimal supplierValue;
     
@@ -29,4 +30,8 @@ public class ProductRequest {
     @Min(value = 0, message = "A quantidade em estoque não pode ser negativa")
     @Schema(description = "Quantidade inicial em estoque", example = "10")
     private Integer stockQuantity;
+
+    @Min(value = 0, message = "O ponto de reposição não pode ser negativo")
+    @Schema(description = "Estoque mínimo antes de o produto entrar na lista de reposição", example = "5")
+    private Integer reorderThreshold;
 }
@@ -25,6 +25,9 @@ public class ProductResponse {
     
     @Schema(description = "Quantidade atual em estoque", example = "10")
     private Integer stockQuantity;
+
+    @Schema(description = "Estoque mínimo antes de o produto entrar na lista de reposição", example = "5")
+    private Integer reorderThreshold;
  
     public static ProductResponse fromEntity(Product product) {
         ProductResponse response = new ProductResponse();
@@ -34,6 +37,7 @@ public class ProductResponse {
         response.setType(product.getType());
         response.setSupplierValue(product.getSupplierValue());
         response.setStockQuantity(product.getStockQuantity());
+        response.setReorderThreshold(product.getReorderThreshold());
         return response;
     }
 }
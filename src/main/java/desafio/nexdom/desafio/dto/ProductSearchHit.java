@@ -0,0 +1,26 @@
+package desafio.nexdom.desafio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchHit {
+    @Schema(description = "ID do produto", example = "1")
+    private Long id;
+
+    @Schema(description = "Código único do produto", example = "PROD-001")
+    private String code;
+
+    @Schema(description = "Descrição do produto", example = "Smartphone Galaxy S21")
+    private String description;
+
+    @Schema(description = "Tipo/categoria do produto", example = "ELETRÔNICO")
+    private String type;
+
+    @Schema(description = "Relevância do resultado (maior é melhor)", example = "2.5")
+    private double score;
+}
@@ -0,0 +1,18 @@
+package desafio.nexdom.desafio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchResponse {
+    private String query;
+    private int page;
+    private int size;
+    private long totalElements;
+    private List<ProductSearchHit> results;
+}
@@ -0,0 +1,11 @@
+package desafio.nexdom.desafio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductStockLevel {
+    private final Long productId;
+    private final Integer stockQuantity;
+}
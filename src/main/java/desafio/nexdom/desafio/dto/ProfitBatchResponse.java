@@ -0,0 +1,17 @@
+package desafio.nexdom.desafio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProfitBatchResponse {
+    private Map<Long, ProfitResultDto> profits;
+    private List<Long> missingIds;
+    private List<Long> failedIds;
+}
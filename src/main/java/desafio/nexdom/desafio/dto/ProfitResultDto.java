@@ -4,9 +4,9 @@ import java.math.BigDecimal;
 
 public class ProfitResultDto {
     private BigDecimal profit;
-    private int totalSold;
+    private long totalSold;
 
-    public ProfitResultDto(BigDecimal profit, int totalSold) {
+    public ProfitResultDto(BigDecimal profit, long totalSold) {
         this.profit = profit;
         this.totalSold = totalSold;
     }
@@ -15,7 +15,7 @@ public class ProfitResultDto {
         return profit;
     }
 
-    public int getTotalSold() {
+    public long getTotalSold() {
         return totalSold;
     }
 
@@ -23,7 +23,7 @@ public class ProfitResultDto {
         this.profit = profit;
     }
 
-    public void setTotalSold(int totalSold) {
+    public void setTotalSold(long totalSold) {
         this.totalSold = totalSold;
     }
 }
@@ -0,0 +1,22 @@
+package desafio.nexdom.desafio.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockAsOfDto {
+    private Long productId;
+    private String code;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime asOf;
+    private long stockQuantity;
+    // Checkpoint usado como base; nulo quando o cálculo partiu do estoque atual
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime checkpointAt;
+}
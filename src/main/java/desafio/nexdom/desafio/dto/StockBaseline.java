@@ -0,0 +1,17 @@
+package desafio.nexdom.desafio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class StockBaseline {
+    private final Long productId;
+    private final Integer currentQuantity;
+    private final BigDecimal supplierValue;
+    private final Integer checkpointQuantity;
+    private final LocalDateTime createdAt;
+}
@@ -0,0 +1,38 @@
+package desafio.nexdom.desafio.dto;
+
+import desafio.nexdom.desafio.model.MovementType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class StockMovementFilter {
+    @Schema(description = "ID do produto", example = "1")
+    private Long productId;
+
+    @Schema(description = "Tipo de movimentação", example = "SAIDA")
+    private MovementType movementType;
+
+    @Schema(description = "Data inicial (inclusiva)", example = "2025-03-01T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @Schema(description = "Data final (exclusiva)", example = "2025-04-01T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    @Schema(description = "Quantidade mínima", example = "1")
+    private Integer minQuantity;
+
+    @Schema(description = "Quantidade máxima", example = "100")
+    private Integer maxQuantity;
+
+    @Schema(description = "Valor de venda mínimo", example = "10.00")
+    private BigDecimal minValue;
+
+    @Schema(description = "Valor de venda máximo", example = "5000.00")
+    private BigDecimal maxValue;
+}
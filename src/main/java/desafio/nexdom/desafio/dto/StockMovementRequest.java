@@ -15,9 +15,11 @@ public class StockMovementRequest {
     
     @NotNull(message = "O valor de venda é obrigatório")
     @DecimalMin(value = "0.01", message = "O valor de venda deve ser maior que zero")
+    @Digits(integer = 17, fraction = 2, message = "O valor de venda deve ter no máximo 2 casas decimais")
     private BigDecimal saleValue;
     
     @io.swagger.v3.oas.annotations.media.Schema(description = "Valor de compra do produto", example = "10.50")
+    @Digits(integer = 17, fraction = 2, message = "O valor de compra deve ter no máximo 2 casas decimais")
     private BigDecimal purchaseValue;
     
     @NotNull(message = "A quantidade é obrigatória")
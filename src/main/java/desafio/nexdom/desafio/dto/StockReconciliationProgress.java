@@ -0,0 +1,18 @@
+package desafio.nexdom.desafio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockReconciliationProgress {
+    private boolean running;
+    private Instant startedAt;
+    private long movementsScanned;
+    private long productsChecked;
+    private long mismatches;
+}
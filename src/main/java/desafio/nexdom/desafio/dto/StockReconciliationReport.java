@@ -0,0 +1,34 @@
+package desafio.nexdom.desafio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class StockReconciliationReport {
+    private Instant startedAt;
+    private long durationMs;
+    private boolean autoCorrect;
+    private long movementsScanned;
+    private long productsChecked;
+    private long mismatches;
+    private long productsWithoutMovements;
+    private long corrected;
+    private double movementsPerSecond;
+    private List<Mismatch> samples = new ArrayList<>();
+    private boolean samplesTruncated;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Mismatch {
+        private Long productId;
+        private int recordedQuantity;
+        private long ledgerQuantity;
+    }
+}
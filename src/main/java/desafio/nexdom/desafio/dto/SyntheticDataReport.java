@@ -0,0 +1,14 @@
+package desafio.nexdom.desafio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SyntheticDataReport {
+    private int products;
+    private long movements;
+    private long elapsedMs;
+}
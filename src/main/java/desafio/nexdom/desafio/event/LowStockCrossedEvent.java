@@ -0,0 +1,15 @@
+package desafio.nexdom.desafio.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Publicado quando um produto entra (low = true) ou sai (low = false) da faixa abaixo do ponto de reposição
+@Getter
+@AllArgsConstructor
+public class LowStockCrossedEvent {
+    private final Long productId;
+    private final String code;
+    private final int stockQuantity;
+    private final int reorderThreshold;
+    private final boolean low;
+}
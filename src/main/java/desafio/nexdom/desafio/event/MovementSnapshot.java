@@ -0,0 +1,30 @@
+package desafio.nexdom.desafio.event;
+
+import desafio.nexdom.desafio.model.MovementType;
+import desafio.nexdom.desafio.model.StockMovement;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Valores de uma movimentação em um instante, copiados da entidade para sobreviver ao fim da transação
+@Getter
+@AllArgsConstructor
+public class MovementSnapshot {
+    private final Long productId;
+    private final LocalDateTime movementDate;
+    private final MovementType movementType;
+    private final int quantity;
+    private final BigDecimal purchaseValue;
+    private final BigDecimal saleValue;
+
+    public static MovementSnapshot of(StockMovement movement) {
+        return new MovementSnapshot(movement.getProduct().getId(), movement.getMovementDate(),
+                movement.getMovementType(), movement.getQuantity(), movement.getPurchaseValue(), movement.getSaleValue());
+    }
+
+    public int signedQuantity() {
+        return movementType == MovementType.SAIDA ? -quantity : quantity;
+    }
+}
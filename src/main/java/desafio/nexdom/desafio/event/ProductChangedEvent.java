@@ -0,0 +1,28 @@
+package desafio.nexdom.desafio.event;
+
+import desafio.nexdom.desafio.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+    private final Long productId;
+    private final Product product;
+    private final boolean deleted;
+    // Versão gravada (@Version), lida na publicação: o produto precisa estar com o flush feito
+    private final Long version;
+
+    public static ProductChangedEvent saved(Product product) {
+        return new ProductChangedEvent(product.getId(), product, false, product.getVersion());
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, null, true, null);
+    }
+
+    // Ouvintes pós-commit rodam fora de ordem entre transações: evento mais antigo que o já aplicado é descartado
+    public static boolean isStale(Long incoming, Long applied) {
+        return incoming != null && applied != null && incoming < applied;
+    }
+}
@@ -0,0 +1,13 @@
+package desafio.nexdom.desafio.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Publicado quando uma movimentação existente é alterada ou excluída; after é nulo em exclusões
+@Getter
+@AllArgsConstructor
+public class StockMovementEditedEvent {
+    private final Long movementId;
+    private final MovementSnapshot before;
+    private final MovementSnapshot after;
+}
@@ -0,0 +1,19 @@
+package desafio.nexdom.desafio.event;
+
+import desafio.nexdom.desafio.model.MovementType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class StockMovementRecordedEvent {
+    private final Long movementId;
+    private final Long productId;
+    private final MovementType movementType;
+    private final int quantity;
+    private final int stockQuantity;
+    private final BigDecimal stockValueDelta;
+    private final Long productVersion;
+}
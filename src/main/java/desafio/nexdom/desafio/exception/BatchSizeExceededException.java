@@ -0,0 +1,8 @@
+package desafio.nexdom.desafio.exception;
+
+public class BatchSizeExceededException extends RuntimeException {
+
+    public BatchSizeExceededException(int requested, int limit) {
+        super(String.format("A requisição contém %d itens, mas o limite por lote é %d", requested, limit));
+    }
+}
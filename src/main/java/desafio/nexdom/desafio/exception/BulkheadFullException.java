@@ -0,0 +1,14 @@
+package desafio.nexdom.desafio.exception;
+
+public class BulkheadFullException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public BulkheadFullException(String bulkhead, long retryAfterSeconds) {
+        super(String.format("Limite de requisições simultâneas de '%s' atingido", bulkhead));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -26,6 +27,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 
 @ControllerAdvice
@@ -58,6 +60,37 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     }
     
    
+    @ExceptionHandler(BatchSizeExceededException.class)
+    public ResponseEntity<Object> handleBatchSizeExceededException(
+            BatchSizeExceededException ex, WebRequest request) {
+        log.warn("Lote acima do limite: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Lote muito grande", ex.getMessage(), request);
+    }
+    
+   
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursorException(
+            InvalidCursorException ex, WebRequest request) {
+        log.warn("Cursor inválido: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Erro de parâmetro", ex.getMessage(), request);
+    }
+    
+   
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<Object> handleInvalidImportFileException(
+            InvalidImportFileException ex, WebRequest request) {
+        log.warn("Arquivo de importação inválido: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Arquivo de importação inválido", ex.getMessage(), request);
+    }
+    
+   
+    @ExceptionHandler(ReconciliationInProgressException.class)
+    public ResponseEntity<Object> handleReconciliationInProgressException(
+            ReconciliationInProgressException ex, WebRequest request) {
+        log.warn("Conciliação recusada: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.CONFLICT, "Conciliação em andamento", ex.getMessage(), request);
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<Object> handleEntityNotFoundException(
             EntityNotFoundException ex, WebRequest request) {
@@ -66,6 +99,35 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     }
     
     
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, WebRequest request) {
+        log.warn("Conflito de concorrência: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.CONFLICT, "Conflito de concorrência",
+                "O registro foi alterado por outra operação. Tente novamente.", request);
+    }
+    
+    
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Object> handleRejectedExecutionException(
+            RejectedExecutionException ex, WebRequest request) {
+        log.warn("Fila de comandos de estoque cheia: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Serviço sobrecarregado",
+                "Muitas operações de estoque em andamento. Tente novamente em instantes.", request);
+    }
+    
+    
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<Object> handleBulkheadFullException(
+            BulkheadFullException ex, WebRequest request) {
+        log.warn("Requisição recusada por controle de admissão: {}", ex.getMessage());
+        ApiError apiError = createApiError(HttpStatus.SERVICE_UNAVAILABLE, "Serviço sobrecarregado", ex.getMessage(), request);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(apiError);
+    }
+
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<Object> handleDataIntegrityViolationException(
             DataIntegrityViolationException ex, WebRequest request) {
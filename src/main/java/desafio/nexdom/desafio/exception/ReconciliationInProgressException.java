@@ -0,0 +1,8 @@
+package desafio.nexdom.desafio.exception;
+
+public class ReconciliationInProgressException extends RuntimeException {
+
+    public ReconciliationInProgressException() {
+        super("Já existe uma conciliação de estoque em andamento");
+    }
+}
@@ -0,0 +1,11 @@
+package desafio.nexdom.desafio.interfaces;
+
+import desafio.nexdom.desafio.dto.EndpointLatencySnapshot;
+
+import java.util.List;
+
+public interface IEndpointLatencyService {
+    void record(String endpoint, int status, long elapsedNanos);
+    List<EndpointLatencySnapshot> snapshot();
+    List<EndpointLatencySnapshot> snapshotAndReset();
+}
@@ -0,0 +1,9 @@
+package desafio.nexdom.desafio.interfaces;
+
+import desafio.nexdom.desafio.dto.LowStockItem;
+
+import java.util.List;
+
+public interface ILowStockService {
+    List<LowStockItem> findMostUrgent(int limit);
+}
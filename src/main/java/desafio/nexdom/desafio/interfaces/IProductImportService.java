@@ -0,0 +1,9 @@
+package desafio.nexdom.desafio.interfaces;
+
+import desafio.nexdom.desafio.dto.ProductImportReport;
+
+import java.io.InputStream;
+
+public interface IProductImportService {
+    ProductImportReport importCsv(InputStream input);
+}
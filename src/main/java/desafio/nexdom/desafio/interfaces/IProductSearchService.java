@@ -0,0 +1,7 @@
+package desafio.nexdom.desafio.interfaces;
+
+import desafio.nexdom.desafio.dto.ProductSearchResponse;
+
+public interface IProductSearchService {
+    ProductSearchResponse search(String query, int page, int size);
+}
@@ -0,0 +1,13 @@
+package desafio.nexdom.desafio.interfaces;
+
+import desafio.nexdom.desafio.dto.CatalogValuationDto;
+import desafio.nexdom.desafio.dto.CheckpointRunDto;
+import desafio.nexdom.desafio.dto.StockAsOfDto;
+
+import java.time.LocalDateTime;
+
+public interface IStockHistoryService {
+    StockAsOfDto getStockAsOf(Long productId, LocalDateTime asOf);
+    CatalogValuationDto valueCatalogAsOf(LocalDateTime asOf);
+    CheckpointRunDto createCheckpoints();
+}
@@ -5,8 +5,13 @@ import desafio.nexdom.desafio.dto.StockMovementRequest;
 import desafio.nexdom.desafio.hateoas.StockMovementModel;
 import desafio.nexdom.desafio.model.StockMovement;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface IStockMovementCommandService {
     StockMovement save(StockMovement movement);
     StockMovementModel updateMovement(Long id, StockMovementRequest request);
     CreateStockMovementResponse createStockMovement(StockMovementRequest request);
+    void deleteMovement(Long id);
+    List<Long> deleteMovements(Collection<Long> ids);
 }
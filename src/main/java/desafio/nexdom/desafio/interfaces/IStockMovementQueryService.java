@@ -1,14 +1,18 @@
 package desafio.nexdom.desafio.interfaces;
 
 import desafio.nexdom.desafio.dto.DashboardStatsDto;
+import desafio.nexdom.desafio.dto.MovementCursorPage;
+import desafio.nexdom.desafio.dto.ProfitBatchResponse;
 import desafio.nexdom.desafio.dto.ProfitResultDto;
 import desafio.nexdom.desafio.dto.StockMovementDTO;
+import desafio.nexdom.desafio.dto.StockMovementFilter;
 import desafio.nexdom.desafio.hateoas.StockMovementModel;
 import desafio.nexdom.desafio.model.StockMovement;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -17,8 +21,10 @@ public interface IStockMovementQueryService {
     List<StockMovement> findAll();
     Page<StockMovement> getMovementsByProduct(Long productId, Pageable pageable);
     List<StockMovement> getMovementsByProduct(Long productId);
+    MovementCursorPage findMovements(StockMovementFilter filter, String cursor, int size);
     BigDecimal calculateProfit(Long productId);
     ProfitResultDto calculateProfitAndTotalSold(Long productId);
+    ProfitBatchResponse calculateProfitForProducts(Collection<Long> productIds);
     Map<Long, List<StockMovementDTO>> findAllGroupedByProduct();
     StockMovementModel getMovementModelById(Long id);
     DashboardStatsDto getDashboardStats();
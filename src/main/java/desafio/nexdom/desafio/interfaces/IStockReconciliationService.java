@@ -0,0 +1,9 @@
+package desafio.nexdom.desafio.interfaces;
+
+import desafio.nexdom.desafio.dto.StockReconciliationProgress;
+import desafio.nexdom.desafio.dto.StockReconciliationReport;
+
+public interface IStockReconciliationService {
+    StockReconciliationReport reconcile(boolean autoCorrect);
+    StockReconciliationProgress getProgress();
+}
@@ -0,0 +1,24 @@
+package desafio.nexdom.desafio.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("desafio.nexdom.BulkOperation")
+@Label("Operação em lote")
+@Category({ "Nexdom", "Lote" })
+@Description("Importação, exclusão, custeio ou conciliação que processa muitos itens de uma vez")
+@StackTrace(false)
+public class BulkOperationEvent extends Event {
+    @Label("Operação")
+    public String operation;
+
+    @Label("Itens")
+    public long items;
+
+    @Label("Resultado")
+    public String outcome;
+}
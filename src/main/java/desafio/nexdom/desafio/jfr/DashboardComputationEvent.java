@@ -0,0 +1,21 @@
+package desafio.nexdom.desafio.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("desafio.nexdom.DashboardComputation")
+@Label("Cálculo do dashboard")
+@Category({ "Nexdom", "Dashboard" })
+@Description("Cálculo completo das estatísticas do dashboard")
+@StackTrace(false)
+public class DashboardComputationEvent extends Event {
+    @Label("Produtos")
+    public int products;
+
+    @Label("Produtos ignorados")
+    public int skipped;
+}
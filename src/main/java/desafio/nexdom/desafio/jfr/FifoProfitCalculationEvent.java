@@ -0,0 +1,30 @@
+package desafio.nexdom.desafio.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("desafio.nexdom.FifoProfitCalculation")
+@Label("Cálculo de lucro FIFO")
+@Category({ "Nexdom", "Lucro" })
+@Description("Custeio FIFO de um produto: carga do histórico (ledger) ou passagem única em lote (batch)")
+@StackTrace(false)
+public class FifoProfitCalculationEvent extends Event {
+    @Label("Produto")
+    public long productId;
+
+    @Label("Origem")
+    public String source;
+
+    @Label("Movimentações")
+    public long movements;
+
+    @Label("Lotes")
+    public long lots;
+
+    @Label("Resultado")
+    public String outcome;
+}
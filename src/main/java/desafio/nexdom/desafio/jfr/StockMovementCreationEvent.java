@@ -0,0 +1,32 @@
+package desafio.nexdom.desafio.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("desafio.nexdom.StockMovementCreation")
+@Label("Criação de movimentação")
+@Category({ "Nexdom", "Estoque" })
+@Description("Registro de uma movimentação de estoque, incluindo a espera pela linha do produto")
+@StackTrace(false)
+public class StockMovementCreationEvent extends Event {
+    @Label("Produto")
+    public long productId;
+
+    @Label("Tipo")
+    public String movementType;
+
+    @Label("Quantidade")
+    public int quantity;
+
+    @Label("Espera pela trava")
+    @Timespan(Timespan.NANOSECONDS)
+    public long lockWait;
+
+    @Label("Resultado")
+    public String outcome;
+}
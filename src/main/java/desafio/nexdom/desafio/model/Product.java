@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data
 @Entity
@@ -25,12 +26,27 @@ public class Product {
 
     @NotNull
     @DecimalMin("0.01")
+    @Digits(integer = 17, fraction = 2)
     private BigDecimal supplierValue;
 
     @NotNull
     @Min(0)
     private Integer stockQuantity;
+
+    @Min(0)
+    private Integer reorderThreshold = 0;
     
     @Version
     private Long version;
+
+    // Consultas históricas ignoram o produto antes do cadastro; as cargas por JDBC gravam a coluna diretamente
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
 }
@@ -0,0 +1,33 @@
+package desafio.nexdom.desafio.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+// Um checkpoint por produto e instante: uma linha repetida dobraria o produto na valorização do catálogo
+@Table(name = "stock_checkpoints", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_stock_checkpoints_product_at", columnNames = {"product_id", "checkpoint_at"})
+}, indexes = {
+    @Index(name = "idx_stock_checkpoints_at", columnList = "checkpoint_at")
+})
+public class StockCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Sem chave estrangeira: o histórico continua consultável mesmo depois que o produto é excluído
+    @NotNull
+    @Column(name = "product_id")
+    private Long productId;
+
+    @NotNull
+    @Column(name = "checkpoint_at")
+    private LocalDateTime checkpointAt;
+
+    @NotNull
+    @Column(name = "stock_quantity")
+    private Integer stockQuantity;
+}
@@ -12,7 +12,11 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "stock_movements")
+@Table(name = "stock_movements", indexes = {
+    @Index(name = "idx_stock_movements_product_date", columnList = "product_id, movement_date, id"),
+    @Index(name = "idx_stock_movements_date", columnList = "movement_date, id"),
+    @Index(name = "idx_stock_movements_type_date", columnList = "movement_type, movement_date")
+})
 public class StockMovement {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,6 +29,7 @@ public class StockMovement {
 
     @NotNull
     @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type")
     @JsonProperty("movementType")
     private MovementType movementType;
 
@@ -37,6 +42,7 @@ public class StockMovement {
 
     @NotNull
     @PastOrPresent
+    @Column(name = "movement_date")
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime movementDate;
 
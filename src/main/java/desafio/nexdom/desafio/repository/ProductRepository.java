@@ -1,15 +1,21 @@
 package desafio.nexdom.desafio.repository;
 
+import desafio.nexdom.desafio.dto.ProductCodeVersion;
+import desafio.nexdom.desafio.dto.ProductStockLevel;
 import desafio.nexdom.desafio.model.Product;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -20,4 +26,13 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT p FROM Product p WHERE p.id = :id")
     Optional<Product> findByIdForUpdate(@Param("id") Long id);
+
+    List<Product> findByCodeIn(Collection<String> codes);
+
+    @Query("SELECT new desafio.nexdom.desafio.dto.ProductCodeVersion(p.code, p.version) FROM Product p WHERE p.code IN :codes")
+    List<ProductCodeVersion> findVersionsByCode(@Param("codes") Collection<String> codes);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new desafio.nexdom.desafio.dto.ProductStockLevel(p.id, p.stockQuantity) FROM Product p ORDER BY p.id")
+    Stream<ProductStockLevel> streamStockLevels();
 }
@@ -0,0 +1,45 @@
+package desafio.nexdom.desafio.repository;
+
+import desafio.nexdom.desafio.dto.StockBaseline;
+import desafio.nexdom.desafio.model.StockCheckpoint;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface StockCheckpointRepository extends JpaRepository<StockCheckpoint, Long> {
+    Optional<StockCheckpoint> findFirstByProductIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(Long productId, LocalDateTime at);
+
+    Optional<StockCheckpoint> findFirstByProductIdAndCheckpointAtGreaterThanOrderByCheckpointAtAsc(Long productId, LocalDateTime at);
+
+    @Query("SELECT MAX(c.checkpointAt) FROM StockCheckpoint c WHERE c.checkpointAt <= :at")
+    LocalDateTime findLatestCheckpointAtOrBefore(@Param("at") LocalDateTime at);
+
+    boolean existsByCheckpointAt(LocalDateTime checkpointAt);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new desafio.nexdom.desafio.dto.StockBaseline(p.id, p.stockQuantity, p.supplierValue, c.stockQuantity, "
+            + "p.createdAt) "
+            + "FROM Product p LEFT JOIN StockCheckpoint c ON c.productId = p.id AND c.checkpointAt = :checkpointAt "
+            + "ORDER BY p.id")
+    Stream<StockBaseline> streamBaselines(@Param("checkpointAt") LocalDateTime checkpointAt);
+
+    @Modifying
+    @Query("DELETE FROM StockCheckpoint c WHERE c.checkpointAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+
+    // Movimentação datada até o checkpoint já faz parte dele; gravada depois, corrige o checkpoint na mesma transação.
+    // flushAutomatically garante que a atualização do produto vá antes, já segurando a linha
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StockCheckpoint c SET c.stockQuantity = c.stockQuantity + :delta "
+            + "WHERE c.productId = :productId AND c.checkpointAt >= :from")
+    int shiftFrom(@Param("productId") Long productId, @Param("from") LocalDateTime from, @Param("delta") int delta);
+}
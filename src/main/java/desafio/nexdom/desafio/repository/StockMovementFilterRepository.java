@@ -0,0 +1,10 @@
+package desafio.nexdom.desafio.repository;
+
+import desafio.nexdom.desafio.model.StockMovement;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface StockMovementFilterRepository {
+    List<StockMovement> findSlice(Specification<StockMovement> specification, int limit);
+}
@@ -0,0 +1,38 @@
+package desafio.nexdom.desafio.repository;
+
+import desafio.nexdom.desafio.model.StockMovement;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class StockMovementFilterRepositoryImpl implements StockMovementFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Sem consulta de contagem: busca no máximo 'limit' linhas na ordem (movementDate, id)
+    @Override
+    public List<StockMovement> findSlice(Specification<StockMovement> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StockMovement> query = cb.createQuery(StockMovement.class);
+        Root<StockMovement> root = query.from(StockMovement.class);
+        root.fetch("product", JoinType.INNER);
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(cb.asc(root.get("movementDate")), cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
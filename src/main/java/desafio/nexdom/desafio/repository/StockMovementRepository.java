@@ -1,15 +1,60 @@
 package desafio.nexdom.desafio.repository;
 
+import desafio.nexdom.desafio.dto.MovementLedgerEntry;
+import desafio.nexdom.desafio.dto.MovementQuantity;
+import desafio.nexdom.desafio.dto.ProductNetQuantity;
 import desafio.nexdom.desafio.model.StockMovement;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
 
 @Repository
-public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long>, StockMovementFilterRepository {
     Page<StockMovement> findByProduct_Id(Long productId, org.springframework.data.domain.Pageable pageable);
     List<StockMovement> findByProduct_Id(Long productId);
     List<StockMovement> findByProduct_IdOrderByMovementDateAsc(Long productId);
+
+    @Query("SELECT m.product.id FROM StockMovement m WHERE m.id = :id")
+    Optional<Long> findProductIdById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new desafio.nexdom.desafio.dto.MovementLedgerEntry(m.id, m.product.id, m.movementType, m.quantity, "
+            + "m.purchaseValue, m.saleValue, m.movementDate) FROM StockMovement m "
+            + "WHERE m.product.id IN :productIds ORDER BY m.product.id, m.movementDate, m.id")
+    Stream<MovementLedgerEntry> streamLedgerByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    String SIGNED_QUANTITY = "CASE WHEN m.movementType = desafio.nexdom.desafio.model.MovementType.ENTRADA "
+            + "THEN m.quantity ELSE -m.quantity END";
+
+    @Query("SELECT COALESCE(SUM(" + SIGNED_QUANTITY + "), 0) FROM StockMovement m "
+            + "WHERE m.product.id = :productId AND m.movementDate > :from AND m.movementDate <= :to")
+    Long netQuantityBetween(@Param("productId") Long productId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT COALESCE(SUM(" + SIGNED_QUANTITY + "), 0) FROM StockMovement m "
+            + "WHERE m.product.id = :productId AND m.movementDate > :from")
+    Long netQuantityAfter(@Param("productId") Long productId, @Param("from") LocalDateTime from);
+
+    @Query("SELECT new desafio.nexdom.desafio.dto.ProductNetQuantity(m.product.id, SUM(" + SIGNED_QUANTITY + ")) "
+            + "FROM StockMovement m WHERE m.movementDate > :from AND m.movementDate <= :to GROUP BY m.product.id")
+    List<ProductNetQuantity> netQuantityByProductBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new desafio.nexdom.desafio.dto.ProductNetQuantity(m.product.id, SUM(" + SIGNED_QUANTITY + ")) "
+            + "FROM StockMovement m WHERE m.movementDate > :from GROUP BY m.product.id")
+    List<ProductNetQuantity> netQuantityByProductAfter(@Param("from") LocalDateTime from);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    // Sem ORDER BY: a soma em blocos junta os parciais de qualquer produto, e ordenar o ledger inteiro custaria um sort
+    @Query("SELECT new desafio.nexdom.desafio.dto.MovementQuantity(m.product.id, m.movementType, m.quantity) "
+            + "FROM StockMovement m")
+    Stream<MovementQuantity> streamQuantities();
 }
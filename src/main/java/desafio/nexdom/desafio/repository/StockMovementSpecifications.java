@@ -0,0 +1,77 @@
+package desafio.nexdom.desafio.repository;
+
+import desafio.nexdom.desafio.dto.StockMovementFilter;
+import desafio.nexdom.desafio.model.MovementType;
+import desafio.nexdom.desafio.model.StockMovement;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public final class StockMovementSpecifications {
+
+    private StockMovementSpecifications() {
+    }
+
+    public static Specification<StockMovement> fromFilter(StockMovementFilter filter) {
+        if (filter == null) {
+            return Specification.where(null);
+        }
+        return Specification.allOf(
+                hasProduct(filter.getProductId()),
+                hasType(filter.getMovementType()),
+                dateFrom(filter.getFrom()),
+                dateBefore(filter.getTo()),
+                quantityAtLeast(filter.getMinQuantity()),
+                quantityAtMost(filter.getMaxQuantity()),
+                saleValueAtLeast(filter.getMinValue()),
+                saleValueAtMost(filter.getMaxValue()));
+    }
+
+    public static Specification<StockMovement> hasProduct(Long productId) {
+        return (root, query, cb) -> productId == null ? null : cb.equal(root.get("product").get("id"), productId);
+    }
+
+    public static Specification<StockMovement> hasType(MovementType movementType) {
+        return (root, query, cb) -> movementType == null ? null : cb.equal(root.get("movementType"), movementType);
+    }
+
+    public static Specification<StockMovement> dateFrom(LocalDateTime from) {
+        return (root, query, cb) -> from == null ? null
+                : cb.greaterThanOrEqualTo(root.<LocalDateTime>get("movementDate"), from);
+    }
+
+    public static Specification<StockMovement> dateBefore(LocalDateTime to) {
+        return (root, query, cb) -> to == null ? null
+                : cb.lessThan(root.<LocalDateTime>get("movementDate"), to);
+    }
+
+    public static Specification<StockMovement> quantityAtLeast(Integer min) {
+        return (root, query, cb) -> min == null ? null
+                : cb.greaterThanOrEqualTo(root.<Integer>get("quantity"), min);
+    }
+
+    public static Specification<StockMovement> quantityAtMost(Integer max) {
+        return (root, query, cb) -> max == null ? null
+                : cb.lessThanOrEqualTo(root.<Integer>get("quantity"), max);
+    }
+
+    public static Specification<StockMovement> saleValueAtLeast(BigDecimal min) {
+        return (root, query, cb) -> min == null ? null
+                : cb.greaterThanOrEqualTo(root.<BigDecimal>get("saleValue"), min);
+    }
+
+    public static Specification<StockMovement> saleValueAtMost(BigDecimal max) {
+        return (root, query, cb) -> max == null ? null
+                : cb.lessThanOrEqualTo(root.<BigDecimal>get("saleValue"), max);
+    }
+
+    // Paginação por chave: tudo que vem depois de (movementDate, id) na ordenação da listagem
+    public static Specification<StockMovement> after(LocalDateTime movementDate, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.<LocalDateTime>get("movementDate"), movementDate),
+                cb.and(
+                        cb.equal(root.get("movementDate"), movementDate),
+                        cb.greaterThan(root.<Long>get("id"), id)));
+    }
+}
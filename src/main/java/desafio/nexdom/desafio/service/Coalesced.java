@@ -0,0 +1,13 @@
+package desafio.nexdom.desafio.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+    // Tempo (ms) em que o último resultado continua sendo servido; aceita placeholders de propriedades
+    String resultTtlMs() default "0";
+}
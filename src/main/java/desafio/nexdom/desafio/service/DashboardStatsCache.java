@@ -0,0 +1,172 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.config.ReplicaRoutingDataSource;
+import desafio.nexdom.desafio.config.StatementBudget;
+import desafio.nexdom.desafio.config.StatementStats;
+import desafio.nexdom.desafio.dto.DashboardStatsDto;
+import desafio.nexdom.desafio.event.ProductChangedEvent;
+import desafio.nexdom.desafio.event.StockMovementEditedEvent;
+import desafio.nexdom.desafio.event.StockMovementRecordedEvent;
+import desafio.nexdom.desafio.interfaces.IStockMovementQueryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class DashboardStatsCache {
+    private static final Logger LOG = LoggerFactory.getLogger(DashboardStatsCache.class);
+
+    private final IStockMovementQueryService queryService;
+    private final boolean refreshOnWrite;
+    private final long minRefreshIntervalNanos;
+    private final StatementBudget statementBudget;
+    private final ScheduledExecutorService refresher;
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private volatile long lastRefreshStartedNanos;
+    private final Counter refreshSuccess;
+    private final Counter refreshFailure;
+    private volatile Snapshot snapshot;
+
+    public DashboardStatsCache(IStockMovementQueryService queryService,
+            MeterRegistry meterRegistry,
+            @Value("${dashboard.stats.refresh-on-write:true}") boolean refreshOnWrite,
+            @Value("${dashboard.stats.min-refresh-interval-ms:5000}") long minRefreshIntervalMs,
+            ObjectProvider<StatementBudget> statementBudget) {
+        this.queryService = queryService;
+        this.statementBudget = statementBudget.getIfAvailable();
+        this.refreshOnWrite = refreshOnWrite;
+        this.minRefreshIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, minRefreshIntervalMs));
+        this.lastRefreshStartedNanos = System.nanoTime() - minRefreshIntervalNanos;
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-stats-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.refreshSuccess = Counter.builder("dashboard.stats.refresh")
+                .tag("outcome", "success")
+                .description("Recalculos do snapshot do dashboard")
+                .register(meterRegistry);
+        this.refreshFailure = Counter.builder("dashboard.stats.refresh")
+                .tag("outcome", "failure")
+                .description("Recalculos do snapshot do dashboard")
+                .register(meterRegistry);
+        Gauge.builder("dashboard.stats.snapshot.age", this, cache -> cache.snapshotAgeMs() / 1000.0)
+                .baseUnit("seconds")
+                .description("Idade do snapshot servido pelo dashboard")
+                .register(meterRegistry);
+    }
+
+    public DashboardStatsDto get() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Só a primeira requisição (antes do agendador rodar) paga o cálculo completo
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = refreshNow();
+                }
+            }
+            if (current == null) {
+                throw new IllegalStateException("Estatísticas do dashboard indisponíveis");
+            }
+        }
+        DashboardStatsDto stats = current.stats();
+        return new DashboardStatsDto(stats.getTotalStockValue(), stats.getTopProfitProducts(),
+                current.generatedAt(), System.currentTimeMillis() - current.generatedAt().toEpochMilli());
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stats.refresh-interval-ms:30000}")
+    public void scheduledRefresh() {
+        requestRefresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockMovementRecorded(StockMovementRecordedEvent event) {
+        if (refreshOnWrite) {
+            requestRefresh();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockMovementEdited(StockMovementEditedEvent event) {
+        if (refreshOnWrite) {
+            requestRefresh();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (refreshOnWrite) {
+            requestRefresh();
+        }
+    }
+
+    // Rajadas de escrita enquanto um recálculo aguarda na fila viram um único recálculo, que só começa
+    // min-refresh-interval-ms depois do início do anterior: escritas contínuas não encadeiam recálculos sem pausa
+    public void requestRefresh() {
+        if (!refreshPending.compareAndSet(false, true)) {
+            return;
+        }
+        long delayNanos = Math.max(0, lastRefreshStartedNanos + minRefreshIntervalNanos - System.nanoTime());
+        try {
+            refresher.schedule(() -> {
+                refreshPending.set(false);
+                refreshNow();
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            refreshPending.set(false);
+        }
+    }
+
+    Snapshot refreshNow() {
+        lastRefreshStartedNanos = System.nanoTime();
+        // Fora de uma requisição não há escopo do StatementBudgetFilter: sem este, a carga de lucro por produto
+        // da thread de recálculo nunca entraria no orçamento de comandos SQL
+        try (StatementStats.Scope scope = StatementStats.open()) {
+            try {
+                // Roda logo após escritas e também preenche o cache de lucro: lê do primário, nunca da réplica
+                Snapshot fresh = new Snapshot(ReplicaRoutingDataSource.onPrimary(queryService::getDashboardStats),
+                        Instant.now());
+                snapshot = fresh;
+                refreshSuccess.increment();
+                return fresh;
+            } catch (RuntimeException e) {
+                refreshFailure.increment();
+                LOG.warn("Falha ao recalcular estatísticas do dashboard; mantendo o último snapshot: {}", e.getMessage());
+                return snapshot;
+            } finally {
+                if (statementBudget != null) {
+                    statementBudget.check(scope, () -> "dashboard-stats-refresh");
+                }
+            }
+        }
+    }
+
+    long snapshotAgeMs() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : System.currentTimeMillis() - current.generatedAt().toEpochMilli();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    record Snapshot(DashboardStatsDto stats, Instant generatedAt) {
+    }
+}
@@ -0,0 +1,124 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.EndpointLatencySnapshot;
+import desafio.nexdom.desafio.interfaces.IEndpointLatencyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Latência por endpoint e classe de status em HdrHistogram (microssegundos). A gravação usa um Recorder
+// sem trava; o dump drena o intervalo para o acumulado desde o último reset. O mesmo valor alimenta um
+// Timer do Micrometer com p50/p99/p999 e os limites de SLO para o Prometheus.
+@Service
+public class EndpointLatencyServiceImpl implements IEndpointLatencyService {
+    private static final double[] PERCENTILES = { 0.5, 0.99, 0.999 };
+
+    private final MeterRegistry meterRegistry;
+    private final long[] sloMs;
+    private final long highestTrackableMicros;
+    private final int significantDigits;
+    private final Map<Key, Series> series = new ConcurrentHashMap<>();
+
+    public EndpointLatencyServiceImpl(MeterRegistry meterRegistry,
+            @Value("${latency.histogram.slo-ms:50,100,250,500,1000}") long[] sloMs,
+            @Value("${latency.histogram.highest-trackable-ms:60000}") long highestTrackableMs,
+            @Value("${latency.histogram.significant-digits:3}") int significantDigits) {
+        this.meterRegistry = meterRegistry;
+        this.sloMs = Arrays.stream(sloMs).filter(slo -> slo > 0).sorted().distinct().toArray();
+        this.highestTrackableMicros = TimeUnit.MILLISECONDS.toMicros(Math.max(1, highestTrackableMs));
+        this.significantDigits = Math.max(1, Math.min(5, significantDigits));
+    }
+
+    @Override
+    public void record(String endpoint, int status, long elapsedNanos) {
+        Series target = series.computeIfAbsent(new Key(endpoint, statusClass(status)), this::newSeries);
+        // Acima do limite o HdrHistogram lança exceção; o valor é truncado e continua contando
+        long micros = Math.max(1, Math.min(highestTrackableMicros, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+        target.recorder.recordValue(micros);
+        target.timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public List<EndpointLatencySnapshot> snapshot() {
+        return collect(false);
+    }
+
+    @Override
+    public List<EndpointLatencySnapshot> snapshotAndReset() {
+        return collect(true);
+    }
+
+    private List<EndpointLatencySnapshot> collect(boolean reset) {
+        return series.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparing(Key::endpoint).thenComparing(Key::status)))
+                .map(entry -> entry.getValue().snapshot(entry.getKey(), reset))
+                .toList();
+    }
+
+    private Series newSeries(Key key) {
+        Timer timer = Timer.builder("http.endpoint.latency")
+                .description("Latência por endpoint e classe de status")
+                .tag("endpoint", key.endpoint())
+                .tag("status", key.status())
+                .publishPercentiles(PERCENTILES)
+                .serviceLevelObjectives(Arrays.stream(sloMs).mapToObj(Duration::ofMillis).toArray(Duration[]::new))
+                .register(meterRegistry);
+        return new Series(new Recorder(highestTrackableMicros, significantDigits),
+                new Histogram(highestTrackableMicros, significantDigits), timer);
+    }
+
+    private static String statusClass(int status) {
+        return status >= 100 && status < 600 ? (status / 100) + "xx" : "unknown";
+    }
+
+    private record Key(String endpoint, String status) {
+    }
+
+    private final class Series {
+        private final Recorder recorder;
+        private final Histogram total;
+        private final Timer timer;
+        private Histogram interval;
+
+        private Series(Recorder recorder, Histogram total, Timer timer) {
+            this.recorder = recorder;
+            this.total = total;
+            this.timer = timer;
+        }
+
+        private synchronized EndpointLatencySnapshot snapshot(Key key, boolean reset) {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            Map<Long, Double> withinSlo = new LinkedHashMap<>();
+            for (long slo : sloMs) {
+                long within = total.getCountBetweenValues(0,
+                        Math.min(highestTrackableMicros, TimeUnit.MILLISECONDS.toMicros(slo)));
+                withinSlo.put(slo, total.getTotalCount() == 0 ? 1.0 : (double) within / total.getTotalCount());
+            }
+            EndpointLatencySnapshot snapshot = new EndpointLatencySnapshot(key.endpoint(), key.status(),
+                    total.getTotalCount(), millis(total.getMean()), millis(total.getValueAtPercentile(50)),
+                    millis(total.getValueAtPercentile(90)), millis(total.getValueAtPercentile(99)),
+                    millis(total.getValueAtPercentile(99.9)), millis(total.getMaxValue()), withinSlo);
+            if (reset) {
+                total.reset();
+            }
+            return snapshot;
+        }
+
+        private double millis(double micros) {
+            return Math.round(micros) / 1000.0;
+        }
+    }
+}
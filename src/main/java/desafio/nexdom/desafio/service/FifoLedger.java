@@ -0,0 +1,216 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.ProfitResultDto;
+import desafio.nexdom.desafio.exception.InsufficientEntryStockForProfitException;
+import desafio.nexdom.desafio.model.MovementType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Histórico FIFO de um produto ordenado por (data, id). As saídas consomem os lotes em ordem, então o custo
+// total só depende da quantidade vendida acumulada: com somas prefixadas dos lotes, uma edição recalcula
+// apenas as posições a partir da movimentação alterada e o resultado sai por busca binária. Valores em centavos.
+class FifoLedger {
+    private static final Comparator<Position> ORDER = Comparator
+            .comparing(Position::movementDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(Position::movementId, Comparator.nullsFirst(Comparator.<Long>naturalOrder()));
+
+    private final Long productId;
+    private final BigDecimal supplierValue;
+    private final List<Lot> lots = new ArrayList<>();
+    private final List<Exit> exits = new ArrayList<>();
+    private Long supplierCents;
+    private long revenueCents;
+    private long sold;
+    private int lotsVisited;
+
+    FifoLedger(Long productId, BigDecimal supplierValue) {
+        this.productId = productId;
+        this.supplierValue = supplierValue;
+    }
+
+    BigDecimal getSupplierValue() {
+        return supplierValue;
+    }
+
+    int lotCount() {
+        return lots.size();
+    }
+
+    // Lotes lidos pelo último result(); lido pelo chamador logo depois, sob o mesmo lock
+    int lotsVisited() {
+        return lotsVisited;
+    }
+
+    int weight() {
+        return lots.size() + exits.size();
+    }
+
+    void insert(Long movementId, LocalDateTime movementDate, MovementType movementType, int quantity,
+            BigDecimal purchaseValue, BigDecimal saleValue) {
+        // Substitui a posição se já existir, p.ex. livro carregado depois do commit e antes do evento da edição
+        if (movementId != null) {
+            remove(movementId, movementDate, MovementType.ENTRADA);
+            remove(movementId, movementDate, MovementType.SAIDA);
+        }
+        Position position = new Position(movementDate, movementId);
+        if (movementType == MovementType.ENTRADA) {
+            int index = insertionPoint(lots, position);
+            lots.add(index, new Lot(position, quantity, centsOrSupplier(purchaseValue)));
+            recomputeFrom(index);
+        } else if (movementType == MovementType.SAIDA) {
+            Exit exit = new Exit(position, quantity, centsOrSupplier(saleValue));
+            exits.add(insertionPoint(exits, position), exit);
+            revenueCents = MoneyCents.plus(revenueCents, exit.revenueCents());
+            sold += quantity;
+        }
+    }
+
+    // Retorna false se a movimentação não estava no histórico; nesse caso o chamador deve recarregar
+    boolean remove(Long movementId, LocalDateTime movementDate, MovementType movementType) {
+        Position position = new Position(movementDate, movementId);
+        if (movementType == MovementType.ENTRADA) {
+            int index = indexOf(lots, position);
+            if (index < 0) {
+                return false;
+            }
+            lots.remove(index);
+            recomputeFrom(index);
+            return true;
+        }
+        if (movementType == MovementType.SAIDA) {
+            int index = indexOf(exits, position);
+            if (index < 0) {
+                return false;
+            }
+            Exit exit = exits.remove(index);
+            revenueCents = MoneyCents.minus(revenueCents, exit.revenueCents());
+            sold -= exit.quantity();
+            return true;
+        }
+        return false;
+    }
+
+    ProfitResultDto result() {
+        lotsVisited = 0;
+        if (lots.isEmpty() && exits.isEmpty()) {
+            return new ProfitResultDto(MoneyCents.toBigDecimal(0), 0);
+        }
+        long available = lots.isEmpty() ? 0 : lots.get(lots.size() - 1).cumulativeQuantity;
+        if (sold > available) {
+            throwInsufficientEntries(available);
+        }
+        return new ProfitResultDto(MoneyCents.toBigDecimal(MoneyCents.minus(revenueCents, costOfFirst(sold))), sold);
+    }
+
+    private long costOfFirst(long units) {
+        if (units == 0) {
+            return 0;
+        }
+        // Primeiro lote cuja quantidade acumulada cobre as unidades vendidas
+        int low = 0;
+        int high = lots.size() - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            lotsVisited++;
+            if (lots.get(mid).cumulativeQuantity >= units) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        Lot lot = lots.get(low);
+        lotsVisited += low == 0 ? 1 : 2;
+        long previousQuantity = low == 0 ? 0 : lots.get(low - 1).cumulativeQuantity;
+        long previousCost = low == 0 ? 0 : lots.get(low - 1).cumulativeCostCents;
+        return MoneyCents.plus(previousCost, MoneyCents.times(lot.unitCostCents, units - previousQuantity));
+    }
+
+    private void throwInsufficientEntries(long available) {
+        // Mesma mensagem do cálculo completo: a primeira saída que ultrapassa o total de entradas
+        long consumedBefore = 0;
+        for (Exit exit : exits) {
+            if (consumedBefore + exit.quantity() > available) {
+                throw new InsufficientEntryStockForProfitException(productId, exit.quantity(),
+                        (int) (available - consumedBefore));
+            }
+            consumedBefore += exit.quantity();
+        }
+    }
+
+    private void recomputeFrom(int index) {
+        long quantity = index == 0 ? 0 : lots.get(index - 1).cumulativeQuantity;
+        long cost = index == 0 ? 0 : lots.get(index - 1).cumulativeCostCents;
+        for (int i = index; i < lots.size(); i++) {
+            Lot lot = lots.get(i);
+            quantity += lot.quantity;
+            cost = MoneyCents.plus(cost, MoneyCents.times(lot.unitCostCents, lot.quantity));
+            lot.cumulativeQuantity = quantity;
+            lot.cumulativeCostCents = cost;
+        }
+    }
+
+    private long centsOrSupplier(BigDecimal value) {
+        if (value != null) {
+            return MoneyCents.toCents(value);
+        }
+        if (supplierCents == null) {
+            supplierCents = MoneyCents.toCents(supplierValue);
+        }
+        return supplierCents;
+    }
+
+    private static int insertionPoint(List<? extends Positioned> items, Position position) {
+        int low = 0;
+        int high = items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ORDER.compare(items.get(mid).position(), position) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int indexOf(List<? extends Positioned> items, Position position) {
+        int index = insertionPoint(items, position) - 1;
+        return index >= 0 && ORDER.compare(items.get(index).position(), position) == 0 ? index : -1;
+    }
+
+    private interface Positioned {
+        Position position();
+    }
+
+    private record Position(LocalDateTime movementDate, Long movementId) {
+    }
+
+    private static class Lot implements Positioned {
+        private final Position position;
+        private final int quantity;
+        private final long unitCostCents;
+        private long cumulativeQuantity;
+        private long cumulativeCostCents;
+
+        private Lot(Position position, int quantity, long unitCostCents) {
+            this.position = position;
+            this.quantity = quantity;
+            this.unitCostCents = unitCostCents;
+        }
+
+        @Override
+        public Position position() {
+            return position;
+        }
+    }
+
+    private record Exit(Position position, int quantity, long saleCents) implements Positioned {
+        private long revenueCents() {
+            return MoneyCents.times(saleCents, quantity);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.ProfitResultDto;
+import desafio.nexdom.desafio.exception.InsufficientEntryStockForProfitException;
+import desafio.nexdom.desafio.model.MovementType;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+class FifoProfitCalculator {
+    private final Long productId;
+    private final BigDecimal supplierValue;
+    private final Deque<Lot> lots = new ArrayDeque<>();
+    private final List<Exit> exits = new ArrayList<>();
+    private Long supplierCents;
+    private boolean empty = true;
+    private long movements;
+    private long lotsScanned;
+
+    FifoProfitCalculator(Long productId, BigDecimal supplierValue) {
+        this.productId = productId;
+        this.supplierValue = supplierValue;
+    }
+
+    Long getProductId() {
+        return productId;
+    }
+
+    long movementCount() {
+        return movements;
+    }
+
+    long lotsScanned() {
+        return lotsScanned;
+    }
+
+    // Entradas formam os lotes na ordem recebida; saídas são custeadas em result(), contra todos os lotes
+    void accept(MovementType movementType, int quantity, BigDecimal purchaseValue, BigDecimal saleValue) {
+        empty = false;
+        movements++;
+        if (movementType == MovementType.ENTRADA) {
+            lots.addLast(new Lot(quantity, centsOrSupplier(purchaseValue)));
+        } else if (movementType == MovementType.SAIDA) {
+            exits.add(new Exit(quantity, centsOrSupplier(saleValue)));
+        }
+    }
+
+    ProfitResultDto result() {
+        if (empty) {
+            return new ProfitResultDto(MoneyCents.toBigDecimal(0), 0);
+        }
+        long totalRevenue = 0;
+        long totalCost = 0;
+        long totalSold = 0;
+
+        for (Exit exit : exits) {
+            int quantitySold = exit.quantity();
+            totalSold += quantitySold;
+            totalRevenue = MoneyCents.plus(totalRevenue, MoneyCents.times(exit.saleCents(), quantitySold));
+
+            int remaining = quantitySold;
+            while (remaining > 0 && !lots.isEmpty()) {
+                Lot lot = lots.peekFirst();
+                lotsScanned++;
+                int consumed = Math.min(remaining, lot.available);
+                totalCost = MoneyCents.plus(totalCost, MoneyCents.times(lot.unitCostCents, consumed));
+                remaining -= consumed;
+                lot.available -= consumed;
+                if (lot.available == 0) {
+                    lots.pollFirst();
+                }
+            }
+
+            if (remaining > 0) {
+                throw new InsufficientEntryStockForProfitException(productId, quantitySold,
+                        quantitySold - remaining);
+            }
+        }
+
+        return new ProfitResultDto(MoneyCents.toBigDecimal(MoneyCents.minus(totalRevenue, totalCost)), totalSold);
+    }
+
+    private long centsOrSupplier(BigDecimal value) {
+        if (value != null) {
+            return MoneyCents.toCents(value);
+        }
+        // O valor do fornecedor é convertido uma vez só, na primeira movimentação que precisar dele
+        if (supplierCents == null) {
+            supplierCents = MoneyCents.toCents(supplierValue);
+        }
+        return supplierCents;
+    }
+
+    private static class Lot {
+        private int available;
+        private final long unitCostCents;
+
+        private Lot(int available, long unitCostCents) {
+            this.available = available;
+            this.unitCostCents = unitCostCents;
+        }
+    }
+
+    private record Exit(int quantity, long saleCents) {
+    }
+}
@@ -0,0 +1,239 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.InventoryDelta;
+import desafio.nexdom.desafio.event.LowStockCrossedEvent;
+import desafio.nexdom.desafio.event.ProductChangedEvent;
+import desafio.nexdom.desafio.event.StockMovementRecordedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class InventoryEventBroadcaster {
+    private static final Logger LOG = LoggerFactory.getLogger(InventoryEventBroadcaster.class);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final long sendTimeoutNanos;
+    private final Counter publishedCounter;
+    private final Counter droppedCounter;
+    private final Counter evictedCounter;
+
+    public InventoryEventBroadcaster(MeterRegistry meterRegistry,
+            @Value("${inventory.events.max-subscribers:100}") int maxSubscribers,
+            @Value("${inventory.events.subscriber-buffer:256}") int bufferSize,
+            @Value("${inventory.events.send-timeout-ms:10000}") long sendTimeoutMs,
+            @Value("${inventory.events.timeout-ms:1800000}") long timeoutMs) {
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, sendTimeoutMs));
+        // Cada drenagem roda na própria thread virtual: um envio preso num cliente lento não ocupa um pool
+        // compartilhado com os demais assinantes
+        this.dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("inventory-events-", 0).factory());
+        this.publishedCounter = Counter.builder("inventory.events.published")
+                .description("Eventos de estoque publicados para os assinantes")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("inventory.events.dropped")
+                .description("Eventos descartados por assinantes lentos (descarte do mais antigo)")
+                .register(meterRegistry);
+        this.evictedCounter = Counter.builder("inventory.events.evicted")
+                .description("Assinantes desconectados por não consumirem os envios a tempo")
+                .register(meterRegistry);
+        Gauge.builder("inventory.events.subscribers", subscribers, Set::size)
+                .description("Assinantes conectados ao stream de estoque")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeoutMs));
+    }
+
+    // Verificação e inclusão juntas; remoções concorrentes só diminuem o total, então não precisam do monitor
+    synchronized SseEmitter subscribe(SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RejectedExecutionException("Limite de " + maxSubscribers + " assinantes do stream de estoque atingido");
+        }
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockMovementRecorded(StockMovementRecordedEvent event) {
+        InventoryDelta delta = new InventoryDelta();
+        delta.setType(InventoryDelta.MOVEMENT);
+        delta.setProductId(event.getProductId());
+        delta.setMovementId(event.getMovementId());
+        delta.setMovementType(event.getMovementType() != null ? event.getMovementType().name() : null);
+        delta.setQuantity(event.getQuantity());
+        delta.setStockQuantity(event.getStockQuantity());
+        delta.setStockValueDelta(event.getStockValueDelta());
+        publish(delta);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        InventoryDelta delta = new InventoryDelta();
+        delta.setType(InventoryDelta.PRODUCT);
+        delta.setProductId(event.getProductId());
+        delta.setDeleted(event.isDeleted() ? Boolean.TRUE : null);
+        if (event.getProduct() != null) {
+            delta.setStockQuantity(event.getProduct().getStockQuantity());
+        }
+        publish(delta);
+    }
+
+    @EventListener
+    public void onLowStockCrossed(LowStockCrossedEvent event) {
+        InventoryDelta delta = new InventoryDelta();
+        delta.setType(InventoryDelta.LOW_STOCK);
+        delta.setProductId(event.getProductId());
+        delta.setStockQuantity(event.getStockQuantity());
+        delta.setReorderThreshold(event.getReorderThreshold());
+        delta.setLowStock(event.isLow());
+        publish(delta);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        evictStalledSubscribers();
+        if (!subscribers.isEmpty()) {
+            InventoryDelta delta = new InventoryDelta();
+            delta.setType(InventoryDelta.HEARTBEAT);
+            publish(delta);
+        }
+    }
+
+    public void publish(InventoryDelta delta) {
+        if (delta.getTimestamp() == null) {
+            delta.setTimestamp(Instant.now());
+        }
+        if (!InventoryDelta.HEARTBEAT.equals(delta.getType())) {
+            publishedCounter.increment();
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.offer(delta)) {
+                droppedCounter.increment();
+            }
+            scheduleDrain(subscriber);
+        }
+    }
+
+    // Um envio parado há mais de send-timeout-ms indica cliente que não lê: ele é desconectado
+    void evictStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedNanos;
+            if (started != 0 && now - started > sendTimeoutNanos && subscribers.remove(subscriber)) {
+                evictedCounter.increment();
+                LOG.warn("Assinante do stream de estoque desconectado por envio parado há mais de {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        dispatcher.shutdownNow();
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    // Cada assinante é drenado por no máximo uma tarefa; um cliente lento só atrasa a própria fila
+    private void drain(Subscriber subscriber) {
+        try {
+            InventoryDelta delta;
+            while ((delta = subscriber.poll()) != null) {
+                subscriber.sendStartedNanos = System.nanoTime();
+                subscriber.emitter.send(SseEmitter.event().name(delta.getType()).data(delta));
+                subscriber.sendStartedNanos = 0;
+            }
+        } catch (IOException | IllegalStateException e) {
+            LOG.debug("Assinante do stream de estoque desconectado: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.sendStartedNanos = 0;
+            subscriber.draining.set(false);
+        }
+        if (subscriber.hasPending() && subscribers.contains(subscriber)) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final ArrayDeque<InventoryDelta> queue;
+        private final int capacity;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long sendStartedNanos;
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.capacity = capacity;
+            this.queue = new ArrayDeque<>(Math.min(capacity, 64));
+        }
+
+        // Retorna true quando o evento mais antigo foi descartado para abrir espaço
+        private synchronized boolean offer(InventoryDelta delta) {
+            boolean dropped = false;
+            if (queue.size() >= capacity) {
+                queue.pollFirst();
+                dropped = true;
+            }
+            queue.addLast(delta);
+            return dropped;
+        }
+
+        private synchronized InventoryDelta poll() {
+            return queue.pollFirst();
+        }
+
+        private synchronized boolean hasPending() {
+            return !queue.isEmpty();
+        }
+    }
+}
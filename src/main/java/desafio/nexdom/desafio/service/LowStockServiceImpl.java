@@ -0,0 +1,174 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.config.ReplicaRoutingDataSource;
+import desafio.nexdom.desafio.dto.LowStockItem;
+import desafio.nexdom.desafio.event.LowStockCrossedEvent;
+import desafio.nexdom.desafio.event.ProductChangedEvent;
+import desafio.nexdom.desafio.event.StockMovementRecordedEvent;
+import desafio.nexdom.desafio.interfaces.ILowStockService;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Mantém em memória os produtos com ponto de reposição, ordenados pela folga (estoque - ponto de reposição).
+// É atualizado depois do commit de cada movimentação, então a consulta de urgentes não toca no banco.
+@Service
+public class LowStockServiceImpl implements ILowStockService {
+    private static final Logger LOG = LoggerFactory.getLogger(LowStockServiceImpl.class);
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TreeSet<Entry> byHeadroom = new TreeSet<>(
+            Comparator.comparingInt(Entry::headroom).thenComparing(Entry::productId));
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    public LowStockServiceImpl(ProductRepository productRepository, ApplicationEventPublisher eventPublisher) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            entries.clear();
+            byHeadroom.clear();
+            // A base do índice vem do primário; depois dela o índice só acompanha os eventos de commit
+            ReplicaRoutingDataSource.runOnPrimary(() -> {
+                Page<Product> page = productRepository.findAll(PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id")));
+                while (true) {
+                    page.forEach(product -> put(Entry.of(product, product.getVersion())));
+                    if (!page.hasNext()) {
+                        break;
+                    }
+                    page = productRepository.findAll(page.nextPageable());
+                }
+            });
+            LOG.info("Índice de estoque baixo carregado com {} produtos monitorados", entries.size());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockMovementRecorded(StockMovementRecordedEvent event) {
+        LowStockCrossedEvent crossed;
+        synchronized (this) {
+            Entry current = entries.get(event.getProductId());
+            if (current == null || ProductChangedEvent.isStale(event.getProductVersion(), current.version())) {
+                return;
+            }
+            crossed = put(current.withStock(event.getStockQuantity(), event.getProductVersion()));
+        }
+        notifyCrossing(crossed);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        LowStockCrossedEvent crossed = null;
+        synchronized (this) {
+            if (event.isDeleted()) {
+                remove(event.getProductId());
+            } else if (event.getProduct() != null && event.getProduct().getId() != null) {
+                Entry current = entries.get(event.getProductId());
+                if (current == null || !ProductChangedEvent.isStale(event.getVersion(), current.version())) {
+                    crossed = put(Entry.of(event.getProduct(), event.getVersion()));
+                }
+            }
+        }
+        notifyCrossing(crossed);
+    }
+
+    @Override
+    public List<LowStockItem> findMostUrgent(int limit) {
+        int safeLimit = Math.max(0, limit);
+        List<LowStockItem> items = new ArrayList<>(Math.min(safeLimit, 64));
+        synchronized (this) {
+            Iterator<Entry> iterator = byHeadroom.iterator();
+            while (items.size() < safeLimit && iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (!entry.low()) {
+                    break;
+                }
+                items.add(entry.toItem());
+            }
+        }
+        return items;
+    }
+
+    private LowStockCrossedEvent put(Entry entry) {
+        Entry previous = remove(entry.productId());
+        if (entry.reorderThreshold() > 0) {
+            entries.put(entry.productId(), entry);
+            byHeadroom.add(entry);
+        }
+        boolean wasLow = previous != null && previous.low();
+        if (wasLow == entry.low()) {
+            return null;
+        }
+        return new LowStockCrossedEvent(entry.productId(), entry.code(), entry.stockQuantity(),
+                entry.reorderThreshold(), entry.low());
+    }
+
+    private Entry remove(Long productId) {
+        Entry previous = entries.remove(productId);
+        if (previous != null) {
+            byHeadroom.remove(previous);
+        }
+        return previous;
+    }
+
+    private void notifyCrossing(LowStockCrossedEvent crossed) {
+        if (crossed == null) {
+            return;
+        }
+        if (crossed.isLow()) {
+            LOG.info("Produto {} abaixo do ponto de reposição: estoque {}, mínimo {}",
+                    crossed.getCode(), crossed.getStockQuantity(), crossed.getReorderThreshold());
+        }
+        eventPublisher.publishEvent(crossed);
+    }
+
+    private record Entry(Long productId, String code, String description, int stockQuantity, int reorderThreshold,
+            Long version) {
+
+        static Entry of(Product product, Long version) {
+            return new Entry(product.getId(), product.getCode(), product.getDescription(),
+                    product.getStockQuantity() != null ? product.getStockQuantity() : 0,
+                    product.getReorderThreshold() != null ? product.getReorderThreshold() : 0, version);
+        }
+
+        Entry withStock(int stock, Long newVersion) {
+            return new Entry(productId, code, description, stock, reorderThreshold,
+                    newVersion != null ? newVersion : version);
+        }
+
+        int headroom() {
+            return stockQuantity - reorderThreshold;
+        }
+
+        boolean low() {
+            return reorderThreshold > 0 && stockQuantity < reorderThreshold;
+        }
+
+        LowStockItem toItem() {
+            return new LowStockItem(productId, code, description, stockQuantity, reorderThreshold, headroom());
+        }
+    }
+}
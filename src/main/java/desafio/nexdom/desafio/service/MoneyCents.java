@@ -0,0 +1,54 @@
+package desafio.nexdom.desafio.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Valores monetários em centavos (long) no custeio FIFO; a escala é a mesma das colunas de valor (2 casas).
+// Operações estouram com ArithmeticException em vez de dar a volta silenciosamente.
+final class MoneyCents {
+    static final int SCALE = 2;
+
+    private MoneyCents() {
+    }
+
+    static long toCents(BigDecimal value) {
+        try {
+            return value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor monetário fora do suportado (máximo de " + SCALE
+                    + " casas decimais): " + value.toPlainString(), e);
+        }
+    }
+
+    static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    static long times(long cents, long quantity) {
+        try {
+            return Math.multiplyExact(cents, quantity);
+        } catch (ArithmeticException e) {
+            throw overflow();
+        }
+    }
+
+    static long plus(long left, long right) {
+        try {
+            return Math.addExact(left, right);
+        } catch (ArithmeticException e) {
+            throw overflow();
+        }
+    }
+
+    static long minus(long left, long right) {
+        try {
+            return Math.subtractExact(left, right);
+        } catch (ArithmeticException e) {
+            throw overflow();
+        }
+    }
+
+    private static ArithmeticException overflow() {
+        return new ArithmeticException("Valor monetário excede o limite suportado no cálculo de lucro");
+    }
+}
@@ -0,0 +1,35 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.exception.InvalidCursorException;
+import desafio.nexdom.desafio.model.StockMovement;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+record MovementCursor(LocalDateTime movementDate, Long id) {
+
+    static MovementCursor of(StockMovement movement) {
+        return new MovementCursor(movement.getMovementDate(), movement.getId());
+    }
+
+    String encode() {
+        String raw = movementDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static MovementCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new MovementCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
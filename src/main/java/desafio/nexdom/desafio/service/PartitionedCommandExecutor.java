@@ -0,0 +1,83 @@
+package desafio.nexdom.desafio.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+class PartitionedCommandExecutor {
+    private static final String THREAD_PREFIX = "stock-partition-";
+
+    private final ThreadPoolExecutor[] partitions;
+    // Marcado pelas próprias threads das partições; o nome da thread não serve de prova
+    private final ThreadLocal<Boolean> onPartitionThread = ThreadLocal.withInitial(() -> false);
+
+    PartitionedCommandExecutor(int partitionCount, int queueCapacity) {
+        this.partitions = new ThreadPoolExecutor[Math.max(1, partitionCount)];
+        for (int i = 0; i < partitions.length; i++) {
+            String name = THREAD_PREFIX + i;
+            partitions[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(Math.max(1, queueCapacity)),
+                    runnable -> {
+                        Thread thread = new Thread(() -> {
+                            onPartitionThread.set(true);
+                            runnable.run();
+                        }, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+
+    int partitionFor(Long productId) {
+        return Math.floorMod(Long.hashCode(productId), partitions.length);
+    }
+
+    int partitionCount() {
+        return partitions.length;
+    }
+
+    int queuedCommands() {
+        int total = 0;
+        for (ThreadPoolExecutor partition : partitions) {
+            total += partition.getQueue().size();
+        }
+        return total;
+    }
+
+    boolean isPartitionThread() {
+        return onPartitionThread.get();
+    }
+
+    // Entra no fim da fila da partição do produto; também usado para repetir um comando sem prender a thread
+    void enqueue(Long productId, Runnable command) {
+        partitions[partitionFor(productId)].execute(command);
+    }
+
+    <T> T await(Long productId, CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            // Tentativas ainda na fila veem o cancelamento e não rodam
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando comando de estoque do produto " + productId, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    void shutdown() {
+        for (ThreadPoolExecutor partition : partitions) {
+            partition.shutdown();
+        }
+    }
+}
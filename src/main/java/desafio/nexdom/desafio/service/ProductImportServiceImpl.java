@@ -0,0 +1,344 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.ProductCodeVersion;
+import desafio.nexdom.desafio.dto.ProductImportReport;
+import desafio.nexdom.desafio.dto.ProductRequest;
+import desafio.nexdom.desafio.event.ProductChangedEvent;
+import desafio.nexdom.desafio.exception.InvalidImportFileException;
+import desafio.nexdom.desafio.interfaces.IProductImportService;
+import desafio.nexdom.desafio.jfr.BulkOperationEvent;
+import desafio.nexdom.desafio.repository.ProductRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class ProductImportServiceImpl implements IProductImportService {
+    private static final Logger LOG = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+
+    private static final List<String> COLUMNS = List.of("code", "description", "type", "supplierValue", "stockQuantity");
+    private static final String REORDER_THRESHOLD_COLUMN = "reorderThreshold";
+    private static final String INSERT_SQL = "INSERT INTO products (code, description, type, supplier_value, stock_quantity, "
+            + "reorder_threshold, created_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+    // Estoque de produto existente só muda por movimentação; o stockQuantity do arquivo vale apenas no cadastro.
+    // Sem a coluna opcional no arquivo, o ponto de reposição já cadastrado é mantido
+    private static final String UPDATE_SQL = "UPDATE products SET description = ?, type = ?, supplier_value = ?, "
+            + "reorder_threshold = COALESCE(?, reorder_threshold), version = version + 1 WHERE code = ? AND version = ?";
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ProductImportServiceImpl(ProductRepository productRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            Validator validator,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${product.import.batch-size:500}") int batchSize,
+            @Value("${product.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxReportedErrors = Math.max(0, maxReportedErrors);
+    }
+
+    @Override
+    public ProductImportReport importCsv(InputStream input) {
+        BulkOperationEvent bulkEvent = new BulkOperationEvent();
+        bulkEvent.begin();
+        bulkEvent.operation = "product-import";
+        bulkEvent.outcome = "error";
+        ProductImportReport report = new ProductImportReport();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new InvalidImportFileException("O arquivo CSV está vazio");
+            }
+            int[] columnIndexes = resolveColumns(parseLine(stripBom(header)));
+
+            // Apenas um lote fica em memória; códigos repetidos dentro do lote forçam a gravação antecipada
+            Map<String, ImportRow> chunk = new LinkedHashMap<>();
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.setTotalRows(report.getTotalRows() + 1);
+                ImportRow row = parseRow(lineNumber, line, columnIndexes, report);
+                if (row == null) {
+                    continue;
+                }
+                if (chunk.containsKey(row.request().getCode())) {
+                    flush(chunk, report);
+                }
+                chunk.put(row.request().getCode(), row);
+                if (chunk.size() >= batchSize) {
+                    flush(chunk, report);
+                }
+            }
+            flush(chunk, report);
+            bulkEvent.outcome = "ok";
+        } catch (IOException e) {
+            bulkEvent.outcome = "invalid-file";
+            throw new InvalidImportFileException("Não foi possível ler o arquivo CSV: " + e.getMessage(), e);
+        } catch (InvalidImportFileException e) {
+            bulkEvent.outcome = "invalid-file";
+            throw e;
+        } finally {
+            bulkEvent.items = report.getTotalRows();
+            bulkEvent.commit();
+        }
+        LOG.info("Importação concluída: {} linhas, {} inseridos, {} atualizados, {} em conflito, {} rejeitados",
+                report.getTotalRows(), report.getInserted(), report.getUpdated(), report.getConflicts(),
+                report.getRejected());
+        return report;
+    }
+
+    private int[] resolveColumns(List<String> header) {
+        int[] indexes = new int[COLUMNS.size() + 1];
+        List<String> normalized = header.stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            indexes[i] = normalized.indexOf(COLUMNS.get(i).toLowerCase(Locale.ROOT));
+            if (indexes[i] < 0) {
+                missing.add(COLUMNS.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new InvalidImportFileException("Colunas obrigatórias ausentes no cabeçalho: " + String.join(", ", missing));
+        }
+        indexes[COLUMNS.size()] = normalized.indexOf(REORDER_THRESHOLD_COLUMN.toLowerCase(Locale.ROOT));
+        return indexes;
+    }
+
+    private ImportRow parseRow(long lineNumber, String line, int[] columnIndexes, ProductImportReport report) {
+        List<String> fields;
+        try {
+            fields = parseLine(line);
+        } catch (IllegalArgumentException e) {
+            reject(report, lineNumber, null, List.of(e.getMessage()));
+            return null;
+        }
+
+        ProductRequest request = new ProductRequest();
+        List<String> errors = new ArrayList<>();
+        request.setCode(field(fields, columnIndexes[0]));
+        request.setDescription(field(fields, columnIndexes[1]));
+        request.setType(field(fields, columnIndexes[2]));
+
+        String supplierValue = field(fields, columnIndexes[3]);
+        if (supplierValue != null) {
+            try {
+                request.setSupplierValue(new BigDecimal(supplierValue));
+            } catch (NumberFormatException e) {
+                errors.add("supplierValue: valor numérico inválido '" + supplierValue + "'");
+            }
+        }
+        String stockQuantity = field(fields, columnIndexes[4]);
+        if (stockQuantity != null) {
+            try {
+                request.setStockQuantity(Integer.valueOf(stockQuantity));
+            } catch (NumberFormatException e) {
+                errors.add("stockQuantity: quantidade inválida '" + stockQuantity + "'");
+            }
+        }
+        String reorderThreshold = columnIndexes[COLUMNS.size()] < 0 ? null : field(fields, columnIndexes[COLUMNS.size()]);
+        if (reorderThreshold != null) {
+            try {
+                request.setReorderThreshold(Integer.valueOf(reorderThreshold));
+            } catch (NumberFormatException e) {
+                errors.add("reorderThreshold: quantidade inválida '" + reorderThreshold + "'");
+            }
+        }
+
+        for (ConstraintViolation<ProductRequest> violation : validator.validate(request)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (!errors.isEmpty()) {
+            reject(report, lineNumber, request.getCode(), errors);
+            return null;
+        }
+        return new ImportRow(lineNumber, request);
+    }
+
+    private void flush(Map<String, ImportRow> chunk, ProductImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<ImportRow> rows = new ArrayList<>(chunk.values());
+        chunk.clear();
+
+        try {
+            List<ImportRow> conflicts = new ArrayList<>();
+            int[] counts = transactionTemplate.execute(status -> {
+                Map<String, Long> versions = productRepository.findVersionsByCode(
+                        rows.stream().map(row -> row.request().getCode()).toList()).stream()
+                        .collect(Collectors.toMap(ProductCodeVersion::getCode, ProductCodeVersion::getVersion));
+                List<ProductRequest> inserts = new ArrayList<>();
+                List<ImportRow> updates = new ArrayList<>();
+                for (ImportRow row : rows) {
+                    if (versions.containsKey(row.request().getCode())) {
+                        updates.add(row);
+                    } else {
+                        inserts.add(row.request());
+                    }
+                }
+                if (!inserts.isEmpty()) {
+                    Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+                    jdbcTemplate.batchUpdate(INSERT_SQL, inserts, batchSize, (ps, product) -> {
+                        ps.setString(1, product.getCode());
+                        ps.setString(2, product.getDescription());
+                        ps.setString(3, product.getType());
+                        ps.setBigDecimal(4, product.getSupplierValue());
+                        ps.setInt(5, product.getStockQuantity());
+                        ps.setInt(6, product.getReorderThreshold() != null ? product.getReorderThreshold() : 0);
+                        ps.setTimestamp(7, createdAt);
+                    });
+                }
+                if (!updates.isEmpty()) {
+                    int[][] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, updates, batchSize, (ps, row) -> {
+                        ProductRequest product = row.request();
+                        ps.setString(1, product.getDescription());
+                        ps.setString(2, product.getType());
+                        ps.setBigDecimal(3, product.getSupplierValue());
+                        ps.setObject(4, product.getReorderThreshold(), Types.INTEGER);
+                        ps.setString(5, product.getCode());
+                        ps.setLong(6, versions.get(product.getCode()));
+                    });
+                    // Produto alterado por outra escrita depois da leitura da versão não casa com o WHERE
+                    int index = 0;
+                    for (int[] batch : updated) {
+                        for (int count : batch) {
+                            if (count == 0) {
+                                conflicts.add(updates.get(index));
+                            }
+                            index++;
+                        }
+                    }
+                }
+                return new int[] { inserts.size(), updates.size() - conflicts.size() };
+            });
+            report.setInserted(report.getInserted() + counts[0]);
+            report.setUpdated(report.getUpdated() + counts[1]);
+            conflicts.forEach(row -> conflict(report, row));
+            List<ImportRow> applied = new ArrayList<>(rows);
+            applied.removeAll(conflicts);
+            publishChanges(applied);
+        } catch (DataAccessException e) {
+            LOG.warn("Falha ao gravar lote de importação com {} linhas: {}", rows.size(), e.getMessage());
+            String message = "Falha ao gravar o lote: " + e.getMostSpecificCause().getMessage();
+            rows.forEach(row -> reject(report, row.line(), row.request().getCode(), List.of(message)));
+        }
+    }
+
+    private void publishChanges(List<ImportRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        // As gravações em lote não passam pelo ProductServiceImpl; os ouvintes (índice de busca etc.) são avisados aqui
+        productRepository.findByCodeIn(rows.stream().map(row -> row.request().getCode()).toList())
+                .forEach(product -> eventPublisher.publishEvent(ProductChangedEvent.saved(product)));
+    }
+
+    private void conflict(ProductImportReport report, ImportRow row) {
+        report.setConflicts(report.getConflicts() + 1);
+        addError(report, row.line(), row.request().getCode(),
+                List.of("Produto alterado por outra operação durante a importação; linha não aplicada"));
+    }
+
+    private void reject(ProductImportReport report, long line, String code, List<String> messages) {
+        report.setRejected(report.getRejected() + 1);
+        addError(report, line, code, messages);
+    }
+
+    private void addError(ProductImportReport report, long line, String code, List<String> messages) {
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new ProductImportReport.RowError(line, code, messages));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Aspas não fechadas na linha");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private record ImportRow(long line, ProductRequest request) {
+    }
+}
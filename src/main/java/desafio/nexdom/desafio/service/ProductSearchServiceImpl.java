@@ -0,0 +1,303 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.config.ReplicaRoutingDataSource;
+import desafio.nexdom.desafio.dto.ProductSearchHit;
+import desafio.nexdom.desafio.dto.ProductSearchResponse;
+import desafio.nexdom.desafio.event.ProductChangedEvent;
+import desafio.nexdom.desafio.interfaces.IProductSearchService;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+@Service
+public class ProductSearchServiceImpl implements IProductSearchService {
+    private static final Logger LOG = LoggerFactory.getLogger(ProductSearchServiceImpl.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final double MIN_DESCRIPTION_SIMILARITY = 0.5;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final int maxCandidates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedProduct> products = new HashMap<>();
+    private final TrieNode codeRoot = new TrieNode();
+    private final Map<String, Set<Long>> trigramPostings = new HashMap<>();
+
+    public ProductSearchServiceImpl(ProductRepository productRepository,
+            @Value("${product.search.max-candidates:1000}") int maxCandidates) {
+        this.productRepository = productRepository;
+        this.maxCandidates = Math.max(1, maxCandidates);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            products.clear();
+            codeRoot.children.clear();
+            codeRoot.productIds.clear();
+            trigramPostings.clear();
+
+            // A base do índice vem do primário; depois dela o índice só acompanha os eventos de commit
+            ReplicaRoutingDataSource.runOnPrimary(() -> {
+                Page<Product> page = productRepository.findAll(PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id")));
+                while (true) {
+                    page.forEach(this::add);
+                    if (!page.hasNext()) {
+                        break;
+                    }
+                    page = productRepository.findAll(page.nextPageable());
+                }
+            });
+            LOG.info("Índice de busca de produtos carregado com {} produtos", products.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getProductId());
+        } else if (event.getProduct() != null) {
+            index(event.getProduct());
+        }
+    }
+
+    public void index(Product product) {
+        if (product.getId() == null || product.getCode() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            IndexedProduct current = products.get(product.getId());
+            if (current != null && ProductChangedEvent.isStale(product.getVersion(), current.version())) {
+                return;
+            }
+            removeEntry(product.getId());
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public ProductSearchResponse search(String query, int page, int size) {
+        String normalizedCode = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        int safePage = Math.max(0, page);
+        int safeSize = Math.max(1, size);
+        if (normalizedCode.isEmpty()) {
+            return new ProductSearchResponse(query, safePage, safeSize, 0, List.of());
+        }
+
+        List<ProductSearchHit> hits;
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = new HashMap<>();
+            scoreCodePrefix(normalizedCode, scores);
+            scoreDescription(normalize(query), scores);
+
+            hits = new ArrayList<>(scores.size());
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                IndexedProduct product = products.get(entry.getKey());
+                hits.add(new ProductSearchHit(product.id(), product.code(), product.description(), product.type(), entry.getValue()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingDouble(ProductSearchHit::getScore).reversed()
+                .thenComparing(ProductSearchHit::getCode));
+        int from = (int) Math.min((long) safePage * safeSize, hits.size());
+        int to = Math.min(from + safeSize, hits.size());
+        return new ProductSearchResponse(query, safePage, safeSize, hits.size(), new ArrayList<>(hits.subList(from, to)));
+    }
+
+    private void scoreCodePrefix(String prefix, Map<Long, Double> scores) {
+        TrieNode node = codeRoot;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null) {
+            return;
+        }
+        // Percorre a subárvore em ordem lexicográfica e para ao atingir o limite de candidatos
+        Deque<TrieNode> stack = new ArrayDeque<>();
+        stack.push(node);
+        int collected = 0;
+        while (!stack.isEmpty() && collected < maxCandidates) {
+            TrieNode current = stack.pop();
+            for (Long id : current.productIds) {
+                int codeLength = products.get(id).code().length();
+                double score = codeLength == prefix.length() ? 3.0 : 2.0 + (double) prefix.length() / codeLength;
+                scores.merge(id, score, Math::max);
+                collected++;
+            }
+            List<TrieNode> children = new ArrayList<>(current.children.values());
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+    }
+
+    private void scoreDescription(String normalizedQuery, Map<Long, Double> scores) {
+        Set<String> queryTrigrams = trigrams(normalizedQuery);
+        if (queryTrigrams.isEmpty()) {
+            return;
+        }
+        List<Set<Long>> postings = new ArrayList<>(queryTrigrams.size());
+        for (String trigram : queryTrigrams) {
+            Set<Long> ids = trigramPostings.get(trigram);
+            if (ids != null) {
+                postings.add(ids);
+            }
+        }
+        // Quem atinge a similaridade mínima aparece em pelo menos uma das listas menores; só elas são
+        // percorridas, e as demais viram consultas de pertinência
+        int required = (int) Math.ceil(queryTrigrams.size() * MIN_DESCRIPTION_SIMILARITY);
+        int seedLists = postings.size() - required + 1;
+        if (seedLists <= 0) {
+            return;
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> visited = new HashSet<>();
+        int collected = 0;
+        for (int i = 0; i < seedLists && collected < maxCandidates; i++) {
+            for (Long id : postings.get(i)) {
+                if (!visited.add(id)) {
+                    continue;
+                }
+                int matched = 0;
+                for (Set<Long> ids : postings) {
+                    if (ids.contains(id)) {
+                        matched++;
+                    }
+                }
+                if (matched >= required) {
+                    scores.merge(id, (double) matched / queryTrigrams.size(), Math::max);
+                    if (++collected >= maxCandidates) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private void add(Product product) {
+        IndexedProduct entry = new IndexedProduct(product.getId(), product.getCode(), product.getDescription(),
+                product.getType(), product.getVersion(), trigrams(normalize(product.getDescription())));
+        products.put(entry.id(), entry);
+
+        TrieNode node = codeRoot;
+        for (char c : entry.code().toLowerCase(Locale.ROOT).toCharArray()) {
+            node = node.children.computeIfAbsent(c, key -> new TrieNode());
+        }
+        node.productIds.add(entry.id());
+
+        for (String trigram : entry.trigrams()) {
+            trigramPostings.computeIfAbsent(trigram, key -> new HashSet<>()).add(entry.id());
+        }
+    }
+
+    private void removeEntry(Long productId) {
+        IndexedProduct entry = products.remove(productId);
+        if (entry == null) {
+            return;
+        }
+
+        String code = entry.code().toLowerCase(Locale.ROOT);
+        Deque<TrieNode> path = new ArrayDeque<>();
+        TrieNode node = codeRoot;
+        for (int i = 0; i < code.length() && node != null; i++) {
+            path.push(node);
+            node = node.children.get(code.charAt(i));
+        }
+        if (node != null) {
+            node.productIds.remove(productId);
+            // Remove nós que ficaram vazios para o trie não crescer com exclusões
+            for (int i = code.length() - 1; i >= 0 && node.isEmpty(); i--) {
+                TrieNode parent = path.pop();
+                parent.children.remove(code.charAt(i));
+                node = parent;
+            }
+        }
+
+        for (String trigram : entry.trigrams()) {
+            Set<Long> postings = trigramPostings.get(trigram);
+            if (postings != null) {
+                postings.remove(productId);
+                if (postings.isEmpty()) {
+                    trigramPostings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        String withoutDiacritics = DIACRITICS.matcher(decomposed).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(withoutDiacritics).replaceAll(" ").trim();
+    }
+
+    static Set<String> trigrams(String normalized) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= normalized.length(); i++) {
+            result.add(normalized.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private record IndexedProduct(Long id, String code, String description, String type, Long version,
+            Set<String> trigrams) {
+    }
+
+    private static class TrieNode {
+        private final TreeMap<Character, TrieNode> children = new TreeMap<>();
+        private final Set<Long> productIds = new HashSet<>(1);
+
+        private boolean isEmpty() {
+            return children.isEmpty() && productIds.isEmpty();
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package desafio.nexdom.desafio.service;
 
+import desafio.nexdom.desafio.event.ProductChangedEvent;
 import desafio.nexdom.desafio.interfaces.IProductService;
 import desafio.nexdom.desafio.model.Product;
 import desafio.nexdom.desafio.repository.ProductRepository;
 import desafio.nexdom.desafio.repository.StockMovementRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -15,10 +21,13 @@ public class ProductServiceImpl implements IProductService {
 
     private final ProductRepository productRepository;
     private final StockMovementRepository stockMovementRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ProductServiceImpl(ProductRepository productRepository, StockMovementRepository stockMovementRepository) {
+    public ProductServiceImpl(ProductRepository productRepository, StockMovementRepository stockMovementRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
         this.stockMovementRepository = stockMovementRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -37,9 +46,24 @@ public class ProductServiceImpl implements IProductService {
                 .orElseThrow(() -> new RuntimeException("Product not found: " + id));
     }
 
+    @Transactional(readOnly = true)
+    public Map<Long, Product> findAllByIds(Collection<Long> ids) {
+        Map<Long, Product> byId = new LinkedHashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return byId;
+        }
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        distinctIds.forEach(id -> byId.put(id, null));
+        productRepository.findAllById(distinctIds).forEach(product -> byId.put(product.getId(), product));
+        byId.values().removeIf(Objects::isNull);
+        return byId;
+    }
+
     @Transactional
     public Product save(Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.saveAndFlush(product);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(saved));
+        return saved;
     }
 
     @Transactional
@@ -51,6 +75,7 @@ public class ProductServiceImpl implements IProductService {
         }
         stockMovementRepository.findByProduct_Id(id).forEach(stockMovementRepository::delete);
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
     }
 
     @Transactional
@@ -63,7 +88,12 @@ public class ProductServiceImpl implements IProductService {
         existing.setSupplierValue(product.getSupplierValue());
     
         existing.setStockQuantity(product.getStockQuantity());
-        return productRepository.save(existing);
+        if (product.getReorderThreshold() != null) {
+            existing.setReorderThreshold(product.getReorderThreshold());
+        }
+        Product saved = productRepository.saveAndFlush(existing);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(saved));
+        return saved;
     }
 
     @Transactional(readOnly = true)
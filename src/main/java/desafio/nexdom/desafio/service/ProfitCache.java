@@ -0,0 +1,267 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.ProfitResultDto;
+import desafio.nexdom.desafio.event.MovementSnapshot;
+import desafio.nexdom.desafio.event.ProductChangedEvent;
+import desafio.nexdom.desafio.event.StockMovementEditedEvent;
+import desafio.nexdom.desafio.event.StockMovementRecordedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+@Component
+public class ProfitCache {
+
+    // Versões protegidas pelo lock de entries. Cada mudança recebe um carimbo novo do relógio global e só produtos
+    // em cache guardam o seu; os demais valem prunedVersion, o maior carimbo já podado, e assim uma carga que
+    // começou antes da poda continua sendo reconhecida como velha
+    private final Map<Long, Long> ledgerVersions = new HashMap<>();
+    private long clock;
+    private long prunedVersion;
+    private final Map<Long, Entry> entries;
+    private final int maxEntries;
+    private final long maxWeight;
+    private long weight;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+    private final Counter evictions;
+    private final Counter incrementalUpdates;
+
+    public ProfitCache(MeterRegistry meterRegistry,
+            @Value("${stock.profit.cache.max-entries:10000}") int maxEntries,
+            @Value("${stock.profit.cache.max-weight:1000000}") long maxWeight) {
+        this.maxEntries = Math.max(1, maxEntries);
+        // Peso = lotes + saídas guardados: poucos produtos com histórico enorme não podem esgotar o heap
+        this.maxWeight = Math.max(1, maxWeight);
+        // LinkedHashMap em ordem de acesso: o produto consultado há mais tempo sai primeiro
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits = meterRegistry.counter("stock.profit.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("stock.profit.cache.requests", "result", "miss");
+        this.invalidations = meterRegistry.counter("stock.profit.cache.invalidations");
+        this.evictions = meterRegistry.counter("stock.profit.cache.evictions");
+        this.incrementalUpdates = meterRegistry.counter("stock.profit.cache.incremental.updates");
+        Gauge.builder("stock.profit.cache.size", this, ProfitCache::size)
+                .description("Produtos com lucro em cache")
+                .register(meterRegistry);
+        Gauge.builder("stock.profit.cache.weight", this, ProfitCache::weight)
+                .description("Lotes e saídas guardados no cache de lucro")
+                .register(meterRegistry);
+    }
+
+    ProfitResultDto get(Long productId, Supplier<FifoLedger> loader) {
+        return get(productId, loader, lots -> { });
+    }
+
+    // lotsVisited recebe os lotes percorridos pelo cálculo, tanto no acerto quanto na carga
+    ProfitResultDto get(Long productId, Supplier<FifoLedger> loader, LongConsumer lotsVisited) {
+        long version;
+        FifoLedger cached = null;
+        synchronized (entries) {
+            version = ledgerVersion(productId);
+            Entry entry = entries.get(productId);
+            if (entry != null && entry.ledgerVersion() == version) {
+                cached = entry.ledger();
+            }
+        }
+        if (cached != null) {
+            hits.increment();
+            return result(cached, lotsVisited);
+        }
+        misses.increment();
+        FifoLedger ledger = loader.get();
+        synchronized (entries) {
+            // Se o histórico mudou durante a carga, o livro já nasce velho e não é guardado
+            if (ledgerVersion(productId) == version) {
+                put(productId, version, ledger);
+            }
+        }
+        return result(ledger, lotsVisited);
+    }
+
+    // Fora do lock de entries: o cálculo trava só o próprio livro, o mesmo monitor usado pelas edições no lugar
+    private static ProfitResultDto result(FifoLedger ledger, LongConsumer lotsVisited) {
+        synchronized (ledger) {
+            try {
+                return ledger.result();
+            } finally {
+                lotsVisited.accept(ledger.lotsVisited());
+            }
+        }
+    }
+
+    public void invalidate(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        synchronized (entries) {
+            nextVersion(productId);
+            evict(productId);
+        }
+        invalidations.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockMovementRecorded(StockMovementRecordedEvent event) {
+        invalidate(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockMovementEdited(StockMovementEditedEvent event) {
+        MovementSnapshot before = event.getBefore();
+        MovementSnapshot after = event.getAfter();
+        synchronized (entries) {
+            try {
+                applyEdit(event.getMovementId(), before, after);
+            } catch (RuntimeException e) {
+                // Livro que falhou no meio da edição ficou pela metade: descarta e a próxima consulta recarrega do banco
+                invalidate(before.getProductId());
+                if (after != null) {
+                    invalidate(after.getProductId());
+                }
+                return;
+            }
+        }
+        incrementalUpdates.increment();
+    }
+
+    // Chamado com o lock de entries. Aplica a edição no livro já carregado: só as posições após a movimentação
+    // são recalculadas. Cada livro é alterado com o próprio monitor, porque cálculos em andamento o leem fora do lock
+    private void applyEdit(Long movementId, MovementSnapshot before, MovementSnapshot after) {
+        Entry beforeEntry = entries.get(before.getProductId());
+        if (beforeEntry != null) {
+            boolean removed;
+            synchronized (beforeEntry.ledger()) {
+                removed = beforeEntry.ledger().remove(movementId, before.getMovementDate(), before.getMovementType());
+            }
+            if (!removed) {
+                evict(before.getProductId());
+                beforeEntry = null;
+            }
+        }
+        bumpVersion(before.getProductId(), beforeEntry);
+        if (after != null) {
+            Entry afterEntry = entries.get(after.getProductId());
+            if (afterEntry != null) {
+                synchronized (afterEntry.ledger()) {
+                    afterEntry.ledger().insert(movementId, after.getMovementDate(),
+                            after.getMovementType(), after.getQuantity(), after.getPurchaseValue(), after.getSaleValue());
+                }
+            }
+            bumpVersion(after.getProductId(), afterEntry);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!event.isDeleted() && event.getProduct() != null) {
+            synchronized (entries) {
+                Entry entry = entries.get(event.getProductId());
+                // Mudanças de estoque ou cadastro não afetam o lucro, a menos que mude o custo de fallback
+                if (entry != null && sameValue(entry.ledger().getSupplierValue(), event.getProduct().getSupplierValue())) {
+                    return;
+                }
+            }
+        }
+        invalidate(event.getProductId());
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long weight() {
+        synchronized (entries) {
+            return weight;
+        }
+    }
+
+    // Chamado com o lock de entries: nova versão descarta cargas concorrentes, a entrada atualizada segue válida
+    private void bumpVersion(Long productId, Entry entry) {
+        long version = nextVersion(productId);
+        if (entry != null) {
+            put(productId, version, entry.ledger());
+        } else {
+            prune(productId);
+        }
+    }
+
+    // Chamado com o lock de entries. O peso é recalculado a cada gravação porque as edições alteram o livro no lugar
+    private void put(Long productId, long version, FifoLedger ledger) {
+        int ledgerWeight;
+        synchronized (ledger) {
+            ledgerWeight = ledger.weight();
+        }
+        if (ledgerWeight > maxWeight) {
+            // Sozinho já estoura o limite: não expulsa o cache inteiro para caber
+            evict(productId);
+            return;
+        }
+        Entry previous = entries.put(productId, new Entry(version, ledger, ledgerWeight));
+        ledgerVersions.put(productId, version);
+        weight += ledgerWeight - (previous != null ? previous.weight() : 0);
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && eldest.hasNext()) {
+            Map.Entry<Long, Entry> evicted = eldest.next();
+            weight -= evicted.getValue().weight();
+            eldest.remove();
+            prune(evicted.getKey());
+            evictions.increment();
+        }
+    }
+
+    // Chamado com o lock de entries; produto fora do cache deixa de ocupar o mapa de versões
+    private void evict(Long productId) {
+        Entry removed = entries.remove(productId);
+        if (removed != null) {
+            weight -= removed.weight();
+        }
+        prune(productId);
+    }
+
+    private void prune(Long productId) {
+        Long version = ledgerVersions.remove(productId);
+        if (version != null) {
+            prunedVersion = Math.max(prunedVersion, version);
+        }
+    }
+
+    private long nextVersion(Long productId) {
+        long version = ++clock;
+        ledgerVersions.put(productId, version);
+        return version;
+    }
+
+    // Usado nos testes para conferir que o mapa de versões acompanha o cache
+    int trackedVersions() {
+        synchronized (entries) {
+            return ledgerVersions.size();
+        }
+    }
+
+    private static boolean sameValue(BigDecimal cached, BigDecimal current) {
+        return Objects.equals(cached, current) || (cached != null && current != null && cached.compareTo(current) == 0);
+    }
+
+    // Chamado com o lock de entries
+    private long ledgerVersion(Long productId) {
+        return ledgerVersions.getOrDefault(productId, prunedVersion);
+    }
+
+    private record Entry(long ledgerVersion, FifoLedger ledger, int weight) {
+    }
+}
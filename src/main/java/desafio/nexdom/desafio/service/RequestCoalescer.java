@@ -0,0 +1,87 @@
+package desafio.nexdom.desafio.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+@Component
+public class RequestCoalescer {
+
+    @FunctionalInterface
+    public interface Computation {
+        Object compute() throws Throwable;
+    }
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CachedResult> recentResults = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final int maxCachedResults;
+
+    public RequestCoalescer(MeterRegistry meterRegistry,
+            @Value("${coalescing.max-cached-results:10000}") int maxCachedResults) {
+        this.meterRegistry = meterRegistry;
+        this.maxCachedResults = Math.max(1, maxCachedResults);
+    }
+
+    public Object execute(String operation, String key, long resultTtlMs, Computation computation) throws Throwable {
+        if (resultTtlMs > 0) {
+            CachedResult cached = recentResults.get(key);
+            if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+                record(operation, "cached");
+                return cached.value();
+            }
+        }
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            record(operation, "coalesced");
+            try {
+                return existing.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+
+        record(operation, "executed");
+        try {
+            Object value = computation.compute();
+            if (resultTtlMs > 0) {
+                remember(key, value, resultTtlMs);
+            }
+            mine.complete(value);
+            return value;
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private void remember(String key, Object value, long resultTtlMs) {
+        if (recentResults.size() >= maxCachedResults) {
+            long now = System.currentTimeMillis();
+            recentResults.values().removeIf(result -> result.expiresAt() <= now);
+            if (recentResults.size() >= maxCachedResults) {
+                recentResults.clear();
+            }
+        }
+        recentResults.put(key, new CachedResult(value, System.currentTimeMillis() + resultTtlMs));
+    }
+
+    private void record(String operation, String outcome) {
+        meterRegistry.counter("request.coalescing.calls", "operation", operation, "outcome", outcome).increment();
+    }
+
+    private record CachedResult(Object value, long expiresAt) {
+    }
+}
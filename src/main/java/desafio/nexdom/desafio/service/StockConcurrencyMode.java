@@ -0,0 +1,5 @@
+package desafio.nexdom.desafio.service;
+
+public enum StockConcurrencyMode {
+    PESSIMISTIC, OPTIMISTIC, PARTITIONED
+}
@@ -0,0 +1,205 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.CatalogValuationDto;
+import desafio.nexdom.desafio.dto.CheckpointRunDto;
+import desafio.nexdom.desafio.dto.ProductNetQuantity;
+import desafio.nexdom.desafio.dto.StockAsOfDto;
+import desafio.nexdom.desafio.dto.StockBaseline;
+import desafio.nexdom.desafio.exception.ProductNotFoundException;
+import desafio.nexdom.desafio.interfaces.IStockHistoryService;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.model.StockCheckpoint;
+import desafio.nexdom.desafio.repository.ProductRepository;
+import desafio.nexdom.desafio.repository.StockCheckpointRepository;
+import desafio.nexdom.desafio.repository.StockMovementRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Estoque em uma data = checkpoint mais próximo + movimentações entre o checkpoint e a data.
+// Sem checkpoint anterior, parte do próximo checkpoint (ou do estoque atual) e desfaz as movimentações posteriores.
+@Service
+public class StockHistoryServiceImpl implements IStockHistoryService {
+    private static final Logger LOG = LoggerFactory.getLogger(StockHistoryServiceImpl.class);
+
+    private static final String CHUNK_IDS_SQL = "SELECT id FROM products WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String LOCK_CHUNK_SQL = "SELECT id FROM products WHERE id > ? AND id <= ? FOR UPDATE";
+    // Movimentação datada depois do checkpoint, mas gravada antes da trava do bloco, já está no estoque:
+    // sai da foto porque volta a entrar pelo delta posterior
+    private static final String CHECKPOINT_CHUNK_SQL = "INSERT INTO stock_checkpoints (product_id, checkpoint_at, stock_quantity) "
+            + "SELECT p.id, ?, p.stock_quantity - COALESCE((SELECT SUM(CASE WHEN m.movement_type = 'ENTRADA' "
+            + "THEN m.quantity ELSE -m.quantity END) FROM stock_movements m WHERE m.product_id = p.id "
+            + "AND m.movement_date > ?), 0) FROM products p WHERE p.id > ? AND p.id <= ?";
+
+    private final ProductRepository productRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final StockCheckpointRepository checkpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int chunkSize;
+
+    public StockHistoryServiceImpl(ProductRepository productRepository,
+            StockMovementRepository stockMovementRepository,
+            StockCheckpointRepository checkpointRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${stock.checkpoint.retention-days:0}") int retentionDays,
+            @Value("${stock.checkpoint.chunk-size:1000}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.stockMovementRepository = stockMovementRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = Math.max(0, retentionDays);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StockAsOfDto getStockAsOf(Long productId, LocalDateTime asOf) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ProductNotFoundException(productId));
+        if (product.getCreatedAt() != null && product.getCreatedAt().isAfter(asOf)) {
+            return new StockAsOfDto(productId, product.getCode(), asOf, 0, null);
+        }
+
+        Optional<StockCheckpoint> before = checkpointRepository
+                .findFirstByProductIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(productId, asOf);
+        if (before.isPresent()) {
+            StockCheckpoint checkpoint = before.get();
+            long net = stockMovementRepository.netQuantityBetween(productId, checkpoint.getCheckpointAt(), asOf);
+            return new StockAsOfDto(productId, product.getCode(), asOf, checkpoint.getStockQuantity() + net,
+                    checkpoint.getCheckpointAt());
+        }
+
+        Optional<StockCheckpoint> after = checkpointRepository
+                .findFirstByProductIdAndCheckpointAtGreaterThanOrderByCheckpointAtAsc(productId, asOf);
+        if (after.isPresent()) {
+            StockCheckpoint checkpoint = after.get();
+            long net = stockMovementRepository.netQuantityBetween(productId, asOf, checkpoint.getCheckpointAt());
+            return new StockAsOfDto(productId, product.getCode(), asOf, checkpoint.getStockQuantity() - net,
+                    checkpoint.getCheckpointAt());
+        }
+
+        long net = stockMovementRepository.netQuantityAfter(productId, asOf);
+        return new StockAsOfDto(productId, product.getCode(), asOf, product.getStockQuantity() - net, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogValuationDto valueCatalogAsOf(LocalDateTime asOf) {
+        LocalDateTime checkpointAt = checkpointRepository.findLatestCheckpointAtOrBefore(asOf);
+        Map<Long, Long> forward = checkpointAt != null
+                ? toMap(stockMovementRepository.netQuantityByProductBetween(checkpointAt, asOf))
+                : Map.of();
+        Map<Long, Long> backward = null;
+
+        long products = 0;
+        long totalUnits = 0;
+        BigDecimal totalValue = BigDecimal.ZERO;
+        try (Stream<StockBaseline> baselines = checkpointRepository.streamBaselines(checkpointAt)) {
+            Iterator<StockBaseline> iterator = baselines.iterator();
+            while (iterator.hasNext()) {
+                StockBaseline baseline = iterator.next();
+                if (baseline.getCreatedAt() != null && baseline.getCreatedAt().isAfter(asOf)) {
+                    // Cadastrado depois da data: não existia, e o estoque inicial não tem movimentação a desfazer
+                    continue;
+                }
+                long stock;
+                if (baseline.getCheckpointQuantity() != null) {
+                    stock = baseline.getCheckpointQuantity() + forward.getOrDefault(baseline.getProductId(), 0L);
+                } else {
+                    // Produto criado depois do checkpoint (ou nenhum checkpoint ainda): desfaz a partir do estoque atual
+                    if (backward == null) {
+                        backward = toMap(stockMovementRepository.netQuantityByProductAfter(asOf));
+                    }
+                    int current = baseline.getCurrentQuantity() != null ? baseline.getCurrentQuantity() : 0;
+                    stock = current - backward.getOrDefault(baseline.getProductId(), 0L);
+                }
+                products++;
+                totalUnits += stock;
+                if (baseline.getSupplierValue() != null) {
+                    totalValue = totalValue.add(baseline.getSupplierValue().multiply(BigDecimal.valueOf(stock)));
+                }
+            }
+        }
+        return new CatalogValuationDto(asOf, checkpointAt, products, totalUnits, totalValue);
+    }
+
+    @Scheduled(cron = "${stock.checkpoint.cron:0 0 2 * * *}")
+    public void scheduledCheckpoint() {
+        createCheckpoints();
+    }
+
+    @Override
+    public CheckpointRunDto createCheckpoints() {
+        LocalDateTime checkpointAt = nextSecond(LocalDateTime.now());
+        Timestamp at = Timestamp.valueOf(checkpointAt);
+        try {
+            if (checkpointRepository.existsByCheckpointAt(checkpointAt)) {
+                LOG.info("Checkpoint de estoque em {} já gravado por outra execução; ignorado", checkpointAt);
+                return new CheckpointRunDto(checkpointAt, 0, 0);
+            }
+            // Um bloco de produtos por transação, travado só durante a própria cópia: escritas em andamento no bloco
+            // terminam antes e entram na foto; as que chegarem depois corrigem o checkpoint na própria transação (shiftFrom)
+            int products = 0;
+            long lastId = 0;
+            while (true) {
+                long from = lastId;
+                List<Long> ids = jdbcTemplate.queryForList(CHUNK_IDS_SQL, Long.class, from, chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                long to = ids.get(ids.size() - 1);
+                products += transactionTemplate.execute(status -> {
+                    jdbcTemplate.query(LOCK_CHUNK_SQL, rs -> { }, from, to);
+                    return jdbcTemplate.update(CHECKPOINT_CHUNK_SQL, at, at, from, to);
+                });
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+                lastId = to;
+            }
+            int purged = retentionDays > 0
+                    ? transactionTemplate.execute(status ->
+                            checkpointRepository.deleteOlderThan(checkpointAt.minusDays(retentionDays)))
+                    : 0;
+            LOG.info("Checkpoint de estoque gravado em {}: {} produtos, {} checkpoints antigos removidos",
+                    checkpointAt, products, purged);
+            return new CheckpointRunDto(checkpointAt, products, purged);
+        } catch (DataIntegrityViolationException e) {
+            // Disparo manual junto com o agendado (ou clique duplo) no mesmo segundo: a constraint única barrou a cópia
+            LOG.info("Checkpoint de estoque em {} já gravado por outra execução; ignorado", checkpointAt);
+            return new CheckpointRunDto(checkpointAt, 0, 0);
+        }
+    }
+
+    // Arredonda para cima: tudo que já está na foto tem data <= checkpoint, e não volta a entrar pelo delta posterior
+    static LocalDateTime nextSecond(LocalDateTime now) {
+        LocalDateTime truncated = now.truncatedTo(ChronoUnit.SECONDS);
+        return truncated.equals(now) ? truncated : truncated.plusSeconds(1);
+    }
+
+    private static Map<Long, Long> toMap(List<ProductNetQuantity> rows) {
+        return rows.stream().collect(Collectors.toMap(ProductNetQuantity::getProductId, ProductNetQuantity::getNetQuantity));
+    }
+}
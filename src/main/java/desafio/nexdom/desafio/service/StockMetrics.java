@@ -0,0 +1,98 @@
+package desafio.nexdom.desafio.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+
+// Métricas de domínio dos caminhos quentes de estoque; expostas em /actuator/prometheus
+@Component
+public class StockMetrics {
+    private final MeterRegistry meterRegistry;
+    private final Timer lockWait;
+    private final Timer lockHold;
+    private final DistributionSummary movementsLoaded;
+    private final DistributionSummary lotsScanned;
+    private final Timer dashboardCompute;
+    private final DistributionSummary dashboardProducts;
+
+    public StockMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.lockWait = Timer.builder("stock.product.lock.wait")
+                .description("Espera para obter a linha do produto ao atualizar o estoque")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.lockHold = Timer.builder("stock.product.lock.hold")
+                .description("Tempo entre obter a linha do produto e o fim da transação")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.movementsLoaded = DistributionSummary.builder("stock.profit.movements.loaded")
+                .description("Movimentações lidas do banco por cálculo de lucro")
+                .baseUnit("movements")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.lotsScanned = DistributionSummary.builder("stock.profit.lots.scanned")
+                .description("Lotes FIFO percorridos por cálculo de lucro")
+                .baseUnit("lots")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.dashboardCompute = Timer.builder("stock.dashboard.compute")
+                .description("Cálculo completo das estatísticas do dashboard")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.dashboardProducts = DistributionSummary.builder("stock.dashboard.products")
+                .description("Produtos processados por cálculo do dashboard")
+                .baseUnit("products")
+                .register(meterRegistry);
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    // Chamado logo após obter o produto; o tempo de posse vai até o commit/rollback da transação corrente
+    public long lockAcquired(long startedNanos) {
+        long acquiredNanos = System.nanoTime();
+        long waitedNanos = acquiredNanos - startedNanos;
+        lockWait.record(waitedNanos, TimeUnit.NANOSECONDS);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lockHold.record(System.nanoTime() - acquiredNanos, TimeUnit.NANOSECONDS);
+                }
+            });
+        }
+        return waitedNanos;
+    }
+
+    public void profitCalculated(long movements, long lots) {
+        movementsLoaded.record(movements);
+        lotsScanned.record(lots);
+    }
+
+    public void ledgerLoaded(long movements) {
+        movementsLoaded.record(movements);
+    }
+
+    public void lotsVisited(long lots) {
+        lotsScanned.record(lots);
+    }
+
+    public void dashboardComputed(long startedNanos, int products) {
+        dashboardCompute.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+        dashboardProducts.record(products);
+    }
+
+    public void dashboardProfitSkipped(Exception e) {
+        meterRegistry.counter("stock.dashboard.profit.skipped", "exception", e.getClass().getSimpleName()).increment();
+    }
+
+    public void insufficientStock(String operation) {
+        meterRegistry.counter("stock.insufficient", "operation", operation).increment();
+    }
+}
@@ -1,38 +1,65 @@
 package desafio.nexdom.desafio.service;
 
+import desafio.nexdom.desafio.config.ReplicaRoutingDataSource;
 import desafio.nexdom.desafio.dto.CreateStockMovementResponse;
 import desafio.nexdom.desafio.dto.DashboardStatsDto;
+import desafio.nexdom.desafio.dto.MovementCursorPage;
+import desafio.nexdom.desafio.dto.MovementLedgerEntry;
 import desafio.nexdom.desafio.dto.ProductProfitDto;
+import desafio.nexdom.desafio.dto.ProfitBatchResponse;
 import desafio.nexdom.desafio.dto.ProfitResultDto;
 import desafio.nexdom.desafio.dto.StockMovementDTO;
+import desafio.nexdom.desafio.dto.StockMovementFilter;
 import desafio.nexdom.desafio.dto.StockMovementRequest;
+import desafio.nexdom.desafio.event.MovementSnapshot;
+import desafio.nexdom.desafio.event.ProductChangedEvent;
+import desafio.nexdom.desafio.event.StockMovementEditedEvent;
+import desafio.nexdom.desafio.event.StockMovementRecordedEvent;
 import desafio.nexdom.desafio.exception.InsufficientEntryStockForProfitException;
 import desafio.nexdom.desafio.exception.InsufficientStockException;
 import desafio.nexdom.desafio.exception.ProductNotFoundException;
 import desafio.nexdom.desafio.hateoas.StockMovementModel;
 import desafio.nexdom.desafio.interfaces.IProductService;
+import desafio.nexdom.desafio.jfr.BulkOperationEvent;
+import desafio.nexdom.desafio.jfr.DashboardComputationEvent;
+import desafio.nexdom.desafio.jfr.FifoProfitCalculationEvent;
+import desafio.nexdom.desafio.jfr.StockMovementCreationEvent;
 import desafio.nexdom.desafio.interfaces.IStockMovementService;
 import desafio.nexdom.desafio.model.Product;
 import desafio.nexdom.desafio.model.StockMovement;
 import desafio.nexdom.desafio.model.MovementType;
 import desafio.nexdom.desafio.repository.ProductRepository;
+import desafio.nexdom.desafio.repository.StockCheckpointRepository;
 import desafio.nexdom.desafio.repository.StockMovementRepository;
+import desafio.nexdom.desafio.repository.StockMovementSpecifications;
+import jakarta.persistence.OptimisticLockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Queue;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 @Service
 public class StockMovementServiceImpl implements IStockMovementService {
+    private static final Logger LOG = LoggerFactory.getLogger(StockMovementServiceImpl.class);
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
 
     @Override
     public StockMovementModel getMovementModelById(Long id) {
@@ -42,10 +69,21 @@ public class StockMovementServiceImpl implements IStockMovementService {
     }
 
     @Override
-    @Transactional
     public StockMovementModel updateMovement(Long id, StockMovementRequest request) {
+        // A partição é a do produto atual da movimentação, que é quem perde o efeito antigo
+        Long currentProductId = stockMovementRepository.findProductIdById(id)
+            .orElseThrow(() -> new ProductNotFoundException(id));
+        if (request.getProductId() != null && !request.getProductId().equals(currentProductId)) {
+            // Entre produtos a edição toca duas partições: roda fora delas, com trava de linha, como as exclusões
+            return stockMutationExecutor.execute(() -> doUpdateMovement(id, request));
+        }
+        return stockMutationExecutor.execute(currentProductId, () -> doUpdateMovement(id, request));
+    }
+
+    private StockMovementModel doUpdateMovement(Long id, StockMovementRequest request) {
         StockMovement movement = stockMovementRepository.findById(id)
             .orElseThrow(() -> new ProductNotFoundException(id));
+        MovementSnapshot before = MovementSnapshot.of(movement);
 
         movement.setMovementType(request.getMovementType());
         movement.setSaleValue(request.getSaleValue());
@@ -61,9 +99,112 @@ public class StockMovementServiceImpl implements IStockMovementService {
 
         validateStockMovementData(movement);
         StockMovement updated = stockMovementRepository.save(movement);
+        MovementSnapshot after = MovementSnapshot.of(updated);
+
+        // Desfaz o efeito antigo e aplica o novo; no mesmo produto vira um único delta
+        Map<Long, Integer> deltas = new TreeMap<>();
+        deltas.merge(before.getProductId(), -before.signedQuantity(), Integer::sum);
+        deltas.merge(after.getProductId(), after.signedQuantity(), Integer::sum);
+        deltas.forEach((productId, delta) -> {
+            if (delta != 0) {
+                eventPublisher.publishEvent(ProductChangedEvent.saved(applyStockDelta(productId, delta)));
+                // A edição não muda a data: checkpoints tirados desde ela já contavam o efeito antigo
+                checkpointRepository.shiftFrom(productId, before.getMovementDate(), delta);
+            }
+        });
+        eventPublisher.publishEvent(new StockMovementEditedEvent(updated.getId(), before, after));
         return StockMovementModel.fromStockMovement(updated);
     }
 
+    // Produtos são travados em ordem crescente de id (TreeMap) para edições cruzadas não entrarem em deadlock
+    private Product applyStockDelta(Long productId, int delta) {
+        long lockStarted = stockMetrics.start();
+        Product product = (stockMutationExecutor.usesRowLock()
+                ? productRepository.findByIdForUpdate(productId)
+                : productRepository.findById(productId))
+                .orElseThrow(() -> new ProductNotFoundException(productId));
+        stockMetrics.lockAcquired(lockStarted);
+        int currentStock = product.getStockQuantity();
+        if (currentStock + delta < 0) {
+            stockMetrics.insufficientStock("edit");
+            throw new InsufficientStockException("Estoque insuficiente para alterar ou excluir a movimentação do produto ID "
+                    + productId + ". Disponível: " + currentStock + ", Necessário: " + -delta);
+        }
+        product.setStockQuantity(currentStock + delta);
+        // Flush já aqui para o evento levar a versão gravada
+        return productRepository.saveAndFlush(product);
+    }
+
+    @Override
+    public void deleteMovement(Long id) {
+        if (deleteMovements(List.of(id)).isEmpty()) {
+            throw new ProductNotFoundException(id);
+        }
+    }
+
+    // Pode envolver vários produtos, então não vai para uma partição; o @Version do produto cobre esse caso
+    @Override
+    public List<Long> deleteMovements(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        return stockMutationExecutor.execute(() -> doDeleteMovements(distinctIds));
+    }
+
+    private List<Long> doDeleteMovements(List<Long> ids) {
+        BulkOperationEvent bulkEvent = new BulkOperationEvent();
+        bulkEvent.begin();
+        bulkEvent.operation = "movement-delete";
+        bulkEvent.outcome = "error";
+        try {
+            List<StockMovement> movements = stockMovementRepository.findAllById(ids);
+            if (movements.isEmpty()) {
+                bulkEvent.outcome = "empty";
+                return List.of();
+            }
+            List<MovementSnapshot> snapshots = new ArrayList<>(movements.size());
+            Map<Long, Integer> deltas = new TreeMap<>();
+            for (StockMovement movement : movements) {
+                MovementSnapshot snapshot = MovementSnapshot.of(movement);
+                snapshots.add(snapshot);
+                deltas.merge(snapshot.getProductId(), -snapshot.signedQuantity(), Integer::sum);
+            }
+
+            // Estoque revertido por produto em uma única gravação; se algum ficar negativo, o lote inteiro volta
+            deltas.forEach((productId, delta) -> {
+                if (delta != 0) {
+                    eventPublisher.publishEvent(ProductChangedEvent.saved(applyStockDelta(productId, delta)));
+                }
+            });
+            // Checkpoints tirados desde a data de cada movimentação ainda contavam com ela
+            for (MovementSnapshot snapshot : snapshots) {
+                checkpointRepository.shiftFrom(snapshot.getProductId(), snapshot.getMovementDate(),
+                        -snapshot.signedQuantity());
+            }
+            stockMovementRepository.deleteAllInBatch(movements);
+
+            List<Long> deletedIds = new ArrayList<>(movements.size());
+            for (int i = 0; i < movements.size(); i++) {
+                Long movementId = movements.get(i).getId();
+                deletedIds.add(movementId);
+                eventPublisher.publishEvent(new StockMovementEditedEvent(movementId, snapshots.get(i), null));
+            }
+            bulkEvent.items = deletedIds.size();
+            bulkEvent.outcome = "ok";
+            return deletedIds;
+        } catch (InsufficientStockException e) {
+            bulkEvent.outcome = "insufficient-stock";
+            throw e;
+        } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+            bulkEvent.outcome = "conflict";
+            throw e;
+        } finally {
+            // Gravado também quando nada foi encontrado ou o lote foi desfeito, como nas outras operações em lote
+            bulkEvent.commit();
+        }
+    }
+
     @Override
     public BigDecimal calculateProfit(Long productId) {
         ProfitResultDto result = calculateProfitAndTotalSold(productId);
@@ -74,8 +215,13 @@ public class StockMovementServiceImpl implements IStockMovementService {
     }
     
     @Override
-    @Transactional
     public CreateStockMovementResponse createStockMovement(StockMovementRequest request) {
+        return stockMutationExecutor.execute(request.getProductId(), () -> doCreateStockMovement(request));
+    }
+
+    private CreateStockMovementResponse doCreateStockMovement(StockMovementRequest request) {
+        StockMovementCreationEvent creationEvent = new StockMovementCreationEvent();
+        creationEvent.begin();
         try {
             Product product = productRepository.findById(request.getProductId())
                 .orElseThrow(() -> new ProductNotFoundException(request.getProductId()));
@@ -91,22 +237,52 @@ public class StockMovementServiceImpl implements IStockMovementService {
             
             validateStockMovementData(stockMovement);
             StockMovement savedMovement = stockMovementRepository.save(stockMovement);
-            updateProductStock(product, request.getMovementType(), request.getQuantity());
+            Product updatedProduct = updateProductStock(product, request.getMovementType(), request.getQuantity(),
+                    creationEvent);
+            // Checkpoint gravado enquanto esta movimentação esperava pela linha do produto não a contém
+            checkpointRepository.shiftFrom(product.getId(), savedMovement.getMovementDate(),
+                    request.getMovementType() == MovementType.SAIDA ? -request.getQuantity() : request.getQuantity());
+            publishMovementRecorded(savedMovement, updatedProduct);
             StockMovementModel model = StockMovementModel.fromStockMovement(savedMovement);
+            creationEvent.outcome = "created";
             return new CreateStockMovementResponse(model, "Movimentação de estoque criada com sucesso");
         } catch (ProductNotFoundException e) {
+            creationEvent.outcome = "product-not-found";
             throw e;
         } catch (InsufficientStockException e) {
+            creationEvent.outcome = "insufficient-stock";
+            throw e;
+        } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+            creationEvent.outcome = "conflict";
             throw e;
         } catch (Exception e) {
+            creationEvent.outcome = "error";
             throw new RuntimeException("Erro ao criar movimentação de estoque: " + e.getMessage(), e);
+        } finally {
+            // Gravado também nas recusas e falhas, que costumam ser justamente as operações lentas
+            if (request.getProductId() != null) {
+                creationEvent.productId = request.getProductId();
+            }
+            if (request.getMovementType() != null) {
+                creationEvent.movementType = request.getMovementType().name();
+            }
+            if (request.getQuantity() != null) {
+                creationEvent.quantity = request.getQuantity();
+            }
+            creationEvent.commit();
         }
     }
     
     @Transactional
-    private void updateProductStock(Product product, MovementType movementType, int quantity) {
-        Product lockedProduct = productRepository.findByIdForUpdate(product.getId())
+    private Product updateProductStock(Product product, MovementType movementType, int quantity,
+            StockMovementCreationEvent creationEvent) {
+        long lockStarted = stockMetrics.start();
+        Optional<Product> current = stockMutationExecutor.usesRowLock()
+                ? productRepository.findByIdForUpdate(product.getId())
+                : productRepository.findById(product.getId());
+        Product lockedProduct = current
                 .orElseThrow(() -> new ProductNotFoundException(product.getId()));
+        creationEvent.lockWait = stockMetrics.lockAcquired(lockStarted);
         
         int currentStock = lockedProduct.getStockQuantity();
         
@@ -114,25 +290,51 @@ public class StockMovementServiceImpl implements IStockMovementService {
             lockedProduct.setStockQuantity(currentStock + quantity);
         } else if (movementType == MovementType.SAIDA) {
             if (currentStock < quantity) {
+                stockMetrics.insufficientStock("create");
                 throw new InsufficientStockException("Estoque insuficiente para o produto ID " + lockedProduct.getId() + 
                     ". Disponível: " + currentStock + ", Solicitado: " + quantity);
             }
             lockedProduct.setStockQuantity(currentStock - quantity);
         }
         
-        productRepository.save(lockedProduct);
+        return productRepository.saveAndFlush(lockedProduct);
+    }
+
+    private void publishMovementRecorded(StockMovement movement, Product product) {
+        int signedQuantity = movement.getMovementType() == MovementType.SAIDA
+                ? -movement.getQuantity() : movement.getQuantity();
+        BigDecimal stockValueDelta = product.getSupplierValue() != null
+                ? product.getSupplierValue().multiply(BigDecimal.valueOf(signedQuantity)) : null;
+        eventPublisher.publishEvent(new StockMovementRecordedEvent(movement.getId(), product.getId(),
+                movement.getMovementType(), movement.getQuantity(), product.getStockQuantity(), stockValueDelta,
+                product.getVersion()));
     }
 
     private final StockMovementRepository stockMovementRepository;
     private final ProductRepository productRepository;
     private final IProductService productService;
+    private final StockMutationExecutor stockMutationExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProfitCache profitCache;
+    private final StockMetrics stockMetrics;
+    private final StockCheckpointRepository checkpointRepository;
 
     public StockMovementServiceImpl(StockMovementRepository stockMovementRepository,
             ProductRepository productRepository,
-            IProductService productService) {
+            IProductService productService,
+            StockMutationExecutor stockMutationExecutor,
+            ApplicationEventPublisher eventPublisher,
+            ProfitCache profitCache,
+            StockMetrics stockMetrics,
+            StockCheckpointRepository checkpointRepository) {
         this.stockMovementRepository = stockMovementRepository;
         this.productRepository = productRepository;
         this.productService = productService;
+        this.stockMutationExecutor = stockMutationExecutor;
+        this.eventPublisher = eventPublisher;
+        this.profitCache = profitCache;
+        this.stockMetrics = stockMetrics;
+        this.checkpointRepository = checkpointRepository;
     }
 
     @Transactional(readOnly = true)
@@ -155,6 +357,28 @@ public class StockMovementServiceImpl implements IStockMovementService {
         return stockMovementRepository.findByProduct_Id(productId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public MovementCursorPage findMovements(StockMovementFilter filter, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Specification<StockMovement> specification = StockMovementSpecifications.fromFilter(filter);
+        if (cursor != null && !cursor.isBlank()) {
+            MovementCursor position = MovementCursor.decode(cursor);
+            specification = specification.and(
+                    StockMovementSpecifications.after(position.movementDate(), position.id()));
+        }
+
+        List<StockMovement> rows = stockMovementRepository.findSlice(specification, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<StockMovement> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? MovementCursor.of(page.get(page.size() - 1)).encode() : null;
+
+        List<StockMovementModel> items = page.stream()
+                .map(StockMovementModel::fromStockMovement)
+                .collect(Collectors.toList());
+        return new MovementCursorPage(items, nextCursor, hasNext, pageSize);
+    }
+
     @Transactional
     public StockMovement save(StockMovement stockMovement) {
         validateStockMovementData(stockMovement);
@@ -205,6 +429,7 @@ public class StockMovementServiceImpl implements IStockMovementService {
                 .orElseThrow(() -> new ProductNotFoundException(stockMovement.getProduct().getId()));
         if (stockMovement.getMovementType() == MovementType.SAIDA) {
             if (product.getStockQuantity() < stockMovement.getQuantity()) {
+                stockMetrics.insufficientStock("save");
                 throw new InsufficientStockException(
                         product.getCode(),
                         product.getStockQuantity(),
@@ -217,118 +442,134 @@ public class StockMovementServiceImpl implements IStockMovementService {
         productService.save(product);
     }
 
+    @Coalesced(resultTtlMs = "${coalescing.profit.result-ttl-ms:0}")
     @Transactional(readOnly = true)
     public ProfitResultDto calculateProfitAndTotalSold(Long productId) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ProductNotFoundException(productId));
-        
-        List<StockMovement> movements = stockMovementRepository
-                .findByProduct_IdOrderByMovementDateAsc(productId);
-        
-        if (movements.isEmpty()) {
-            return new ProfitResultDto(BigDecimal.ZERO, 0);
-        }
-
-        Queue<Map.Entry<Integer, BigDecimal>> fifoQueue = new LinkedList<>();
-        processEntryMovements(product, movements, fifoQueue);
-        
-        FifoResult result = processExitMovements(product, productId, movements, fifoQueue);
-        
-        return new ProfitResultDto(result.getTotalRevenue().subtract(result.getTotalCost()), result.getTotalSold());
+        // O livro carregado fica no cache sob a versão atual, então não pode vir de uma réplica atrasada
+        return profitCache.get(productId, () -> ReplicaRoutingDataSource.onPrimary(() -> loadFifoLedger(productId)),
+                stockMetrics::lotsVisited);
     }
 
-    private void processEntryMovements(Product product, List<StockMovement> movements, 
-        Queue<Map.Entry<Integer, BigDecimal>> fifoQueue) {
-        movements.stream()
-                .filter(movement -> movement.getMovementType() == MovementType.ENTRADA)
-                .forEach(movement -> {
-                    BigDecimal purchaseValue = Optional.ofNullable(movement.getPurchaseValue())
-                            .orElse(product.getSupplierValue());
-                    fifoQueue.offer(Map.entry(movement.getQuantity(), purchaseValue));
-                });
-    }
+    private FifoLedger loadFifoLedger(Long productId) {
+        FifoProfitCalculationEvent profitEvent = new FifoProfitCalculationEvent();
+        profitEvent.begin();
+        profitEvent.productId = productId;
+        profitEvent.source = "ledger";
+        profitEvent.outcome = "error";
+        try {
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new ProductNotFoundException(productId));
 
-    private FifoResult processExitMovements(Product product, Long productId, 
-        List<StockMovement> movements, Queue<Map.Entry<Integer, BigDecimal>> fifoQueue) {
-        BigDecimal totalRevenue = BigDecimal.ZERO;
-        BigDecimal totalCost = BigDecimal.ZERO;
-        int totalSold = 0;
-        
-        for (StockMovement movement : movements) {
-            if (movement.getMovementType() == MovementType.SAIDA) {
-                int quantitySold = movement.getQuantity();
-                totalSold += quantitySold;
-
-                BigDecimal saleValue = Optional.ofNullable(movement.getSaleValue())
-                        .orElse(product.getSupplierValue());
-                
-                BigDecimal movementRevenue = saleValue.multiply(BigDecimal.valueOf(quantitySold));
-                totalRevenue = totalRevenue.add(movementRevenue);
-
-                int remaining = quantitySold;
-                
-                Queue<Map.Entry<Integer, BigDecimal>> tempFifo = new LinkedList<>(fifoQueue);
-                Queue<Map.Entry<Integer, BigDecimal>> updatedFifo = new LinkedList<>();
-                
-                while (remaining > 0 && !tempFifo.isEmpty()) {
-                    Map.Entry<Integer, BigDecimal> entry = tempFifo.poll();
-                    int available = entry.getKey();
-                    BigDecimal unitCost = entry.getValue();
-
-                    int consumed = Math.min(remaining, available);
-                    BigDecimal partialCost = unitCost.multiply(BigDecimal.valueOf(consumed));
-                    totalCost = totalCost.add(partialCost);
-                    
-                    remaining -= consumed;
-
-                    if (consumed < available) {
-                        updatedFifo.offer(Map.entry(available - consumed, unitCost));
-                    }
-                }
-                
-                while (!tempFifo.isEmpty()) {
-                    updatedFifo.offer(tempFifo.poll());
-                }
-                
-                fifoQueue = updatedFifo;
+            List<StockMovement> movements = stockMovementRepository
+                    .findByProduct_IdOrderByMovementDateAsc(productId);
+            profitEvent.movements = movements.size();
 
-                if (remaining > 0) {
-                    throw new InsufficientEntryStockForProfitException(productId, quantitySold,
-                            quantitySold - remaining);
-                }
+            FifoLedger ledger = new FifoLedger(productId, product.getSupplierValue());
+            for (StockMovement movement : movements) {
+                ledger.insert(movement.getId(), movement.getMovementDate(), movement.getMovementType(),
+                        movement.getQuantity(), movement.getPurchaseValue(), movement.getSaleValue());
             }
+            stockMetrics.ledgerLoaded(movements.size());
+            profitEvent.lots = ledger.lotCount();
+            profitEvent.outcome = "ok";
+            return ledger;
+        } catch (ProductNotFoundException e) {
+            profitEvent.outcome = "product-not-found";
+            throw e;
+        } finally {
+            profitEvent.commit();
         }
-        
-        return new FifoResult(totalRevenue, totalCost, totalSold);
     }
 
-    private static class FifoResult {
-        private final BigDecimal totalRevenue;
-        private final BigDecimal totalCost;
-        private final int totalSold;
-        
-        public FifoResult(BigDecimal totalRevenue, BigDecimal totalCost, int totalSold) {
-            this.totalRevenue = totalRevenue;
-            this.totalCost = totalCost;
-            this.totalSold = totalSold;
+    @Override
+    @Transactional(readOnly = true)
+    public ProfitBatchResponse calculateProfitForProducts(Collection<Long> productIds) {
+        Map<Long, ProfitResultDto> results = new LinkedHashMap<>();
+        List<Long> failedIds = new ArrayList<>();
+        if (productIds == null || productIds.isEmpty()) {
+            return new ProfitBatchResponse(results, List.of(), failedIds);
         }
-        
-        public BigDecimal getTotalRevenue() {
-            return totalRevenue;
+        List<Long> distinctIds = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, Product> products = productRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
+        distinctIds.stream()
+                .filter(products::containsKey)
+                .forEach(id -> results.put(id, new ProfitResultDto(MoneyCents.toBigDecimal(0), 0)));
+        List<Long> missingIds = distinctIds.stream().filter(id -> !products.containsKey(id)).toList();
+        if (products.isEmpty()) {
+            return new ProfitBatchResponse(results, missingIds, failedIds);
         }
-        
-        public BigDecimal getTotalCost() {
-            return totalCost;
+
+        // Uma única consulta ordenada por produto; cada grupo é custeado assim que termina
+        BulkOperationEvent bulkEvent = new BulkOperationEvent();
+        bulkEvent.begin();
+        bulkEvent.operation = "profit-batch";
+        bulkEvent.items = products.size();
+        bulkEvent.outcome = "error";
+        try (Stream<MovementLedgerEntry> ledger = stockMovementRepository.streamLedgerByProductIds(products.keySet())) {
+            FifoProfitCalculator calculator = null;
+            Iterator<MovementLedgerEntry> iterator = ledger.iterator();
+            while (iterator.hasNext()) {
+                MovementLedgerEntry entry = iterator.next();
+                if (calculator == null || !calculator.getProductId().equals(entry.getProductId())) {
+                    if (calculator != null) {
+                        putCosted(calculator, results, failedIds);
+                    }
+                    calculator = new FifoProfitCalculator(entry.getProductId(),
+                            products.get(entry.getProductId()).getSupplierValue());
+                }
+                calculator.accept(entry.getMovementType(), entry.getQuantity(),
+                        entry.getPurchaseValue(), entry.getSaleValue());
+            }
+            if (calculator != null) {
+                putCosted(calculator, results, failedIds);
+            }
+            bulkEvent.outcome = "ok";
+        } finally {
+            bulkEvent.commit();
         }
-        
-        public int getTotalSold() {
-            return totalSold;
+        return new ProfitBatchResponse(results, missingIds, failedIds);
+    }
+
+    // Um histórico inconsistente afeta só o próprio produto; o restante do lote segue normalmente
+    private void putCosted(FifoProfitCalculator calculator, Map<Long, ProfitResultDto> results, List<Long> failedIds) {
+        try {
+            results.put(calculator.getProductId(), costed(calculator));
+        } catch (InsufficientEntryStockForProfitException | ArithmeticException e) {
+            results.remove(calculator.getProductId());
+            failedIds.add(calculator.getProductId());
+            LOG.warn("Lucro do produto {} não calculado no lote: {}", calculator.getProductId(), e.getMessage());
+        }
+    }
+
+    private ProfitResultDto costed(FifoProfitCalculator calculator) {
+        FifoProfitCalculationEvent profitEvent = new FifoProfitCalculationEvent();
+        profitEvent.begin();
+        profitEvent.outcome = "error";
+        try {
+            ProfitResultDto result = calculator.result();
+            profitEvent.outcome = "ok";
+            return result;
+        } catch (InsufficientEntryStockForProfitException e) {
+            profitEvent.outcome = "insufficient-entries";
+            throw e;
+        } finally {
+            stockMetrics.profitCalculated(calculator.movementCount(), calculator.lotsScanned());
+            profitEvent.productId = calculator.getProductId();
+            profitEvent.source = "batch";
+            profitEvent.movements = calculator.movementCount();
+            profitEvent.lots = calculator.lotsScanned();
+            profitEvent.commit();
         }
     }
     
     @Override
+    @Coalesced(resultTtlMs = "${coalescing.dashboard.result-ttl-ms:0}")
     @Transactional(readOnly = true)
     public DashboardStatsDto getDashboardStats() {
+        long started = stockMetrics.start();
+        DashboardComputationEvent dashboardEvent = new DashboardComputationEvent();
+        dashboardEvent.begin();
         BigDecimal totalStockValue = BigDecimal.ZERO;
         List<Product> allProducts = productRepository.findAll();
         
@@ -353,6 +594,8 @@ public class StockMovementServiceImpl implements IStockMovementService {
                     ));
                 }
             } catch (Exception e) {
+                stockMetrics.dashboardProfitSkipped(e);
+                dashboardEvent.skipped++;
             }
         }
         
@@ -361,6 +604,9 @@ public class StockMovementServiceImpl implements IStockMovementService {
             topProfitProducts = topProfitProducts.subList(0, 5);
         }
         
+        stockMetrics.dashboardComputed(started, allProducts.size());
+        dashboardEvent.products = allProducts.size();
+        dashboardEvent.commit();
         return new DashboardStatsDto(totalStockValue, topProfitProducts);
     }
 
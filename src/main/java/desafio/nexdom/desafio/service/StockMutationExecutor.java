@@ -0,0 +1,180 @@
+package desafio.nexdom.desafio.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.OptimisticLockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+@Component
+public class StockMutationExecutor {
+    private static final Logger LOG = LoggerFactory.getLogger(StockMutationExecutor.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final StockConcurrencyMode mode;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final Counter retryCounter;
+    private final Counter exhaustedCounter;
+    private final DistributionSummary attemptsSummary;
+    private final PartitionedCommandExecutor partitionedExecutor;
+
+    public StockMutationExecutor(PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${stock.concurrency.mode:PESSIMISTIC}") StockConcurrencyMode mode,
+            @Value("${stock.concurrency.optimistic.max-attempts:5}") int maxAttempts,
+            @Value("${stock.concurrency.optimistic.backoff-base-ms:10}") long backoffBaseMs,
+            @Value("${stock.concurrency.optimistic.backoff-max-ms:200}") long backoffMaxMs,
+            @Value("${stock.concurrency.partitions:0}") int partitions,
+            @Value("${stock.concurrency.partition-queue-capacity:1000}") int partitionQueueCapacity) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mode = mode;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffBaseMs = Math.max(0, backoffBaseMs);
+        this.backoffMaxMs = Math.max(this.backoffBaseMs, backoffMaxMs);
+        this.retryCounter = Counter.builder("stock.mutation.retries")
+                .description("Transações de estoque repetidas por conflito de versão")
+                .tag("mode", mode.name())
+                .register(meterRegistry);
+        this.exhaustedCounter = Counter.builder("stock.mutation.retries.exhausted")
+                .description("Transações de estoque abandonadas após esgotar as tentativas")
+                .tag("mode", mode.name())
+                .register(meterRegistry);
+        this.attemptsSummary = DistributionSummary.builder("stock.mutation.attempts")
+                .description("Tentativas necessárias por transação de estoque")
+                .tag("mode", mode.name())
+                .register(meterRegistry);
+
+        if (mode == StockConcurrencyMode.PARTITIONED) {
+            int partitionCount = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+            this.partitionedExecutor = new PartitionedCommandExecutor(partitionCount, partitionQueueCapacity);
+            Gauge.builder("stock.partition.queue.size", partitionedExecutor, PartitionedCommandExecutor::queuedCommands)
+                    .description("Comandos de estoque aguardando nas partições")
+                    .register(meterRegistry);
+            LOG.info("Executor de estoque particionado com {} partições", partitionCount);
+        } else {
+            this.partitionedExecutor = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (partitionedExecutor != null) {
+            partitionedExecutor.shutdown();
+        }
+    }
+
+    public StockConcurrencyMode getMode() {
+        return mode;
+    }
+
+    // No modo particionado só a thread da partição é escritora única; comandos fora dela (exclusões em lote,
+    // edições entre produtos) precisam travar a linha como no modo pessimista
+    public boolean usesRowLock() {
+        return mode == StockConcurrencyMode.PESSIMISTIC
+                || (partitionedExecutor != null && !partitionedExecutor.isPartitionThread());
+    }
+
+    public <T> T execute(Long productId, Supplier<T> command) {
+        if (partitionedExecutor == null || productId == null || partitionedExecutor.isPartitionThread()) {
+            return execute(command);
+        }
+        // Um único escritor por produto: comandos do mesmo produto rodam em fila na mesma partição.
+        CompletableFuture<T> result = new CompletableFuture<>();
+        partitionedExecutor.enqueue(productId, () -> attemptOnPartition(productId, command, 1, result));
+        return partitionedExecutor.await(productId, result);
+    }
+
+    // Uma tentativa por vez na thread da partição. Em conflito de versão o comando volta para o fim da fila em vez
+    // de dormir: a partição segue atendendo os demais produtos e a espera na fila faz o papel do backoff
+    private <T> void attemptOnPartition(Long productId, Supplier<T> command, int attempt, CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            T value = transactionTemplate.execute(status -> command.get());
+            attemptsSummary.record(attempt);
+            result.complete(value);
+        } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+            if (attempt >= maxAttempts) {
+                attemptsSummary.record(attempt);
+                exhaustedCounter.increment();
+                LOG.warn("Conflito de versão persistente após {} tentativas: {}", attempt, e.getMessage());
+                result.completeExceptionally(e);
+                return;
+            }
+            retryCounter.increment();
+            LOG.debug("Conflito de versão na tentativa {}, recolocando na fila da partição", attempt);
+            try {
+                partitionedExecutor.enqueue(productId, () -> attemptOnPartition(productId, command, attempt + 1, result));
+            } catch (RejectedExecutionException rejected) {
+                e.addSuppressed(rejected);
+                result.completeExceptionally(e);
+            }
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    public <T> T execute(Supplier<T> command) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Já existe uma transação externa: repetir aqui não teria efeito, o chamador decide.
+            return command.get();
+        }
+        if (mode == StockConcurrencyMode.PESSIMISTIC) {
+            return transactionTemplate.execute(status -> command.get());
+        }
+
+        int attempt = 1;
+        while (true) {
+            try {
+                T result = transactionTemplate.execute(status -> command.get());
+                attemptsSummary.record(attempt);
+                return result;
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    attemptsSummary.record(attempt);
+                    exhaustedCounter.increment();
+                    LOG.warn("Conflito de versão persistente após {} tentativas: {}", attempt, e.getMessage());
+                    throw e;
+                }
+                retryCounter.increment();
+                LOG.debug("Conflito de versão na tentativa {}, repetindo", attempt);
+                // Na thread da partição não dorme: a fila inteira da partição ficaria parada
+                if (partitionedExecutor == null || !partitionedExecutor.isPartitionThread()) {
+                    backoff(attempt, e);
+                }
+                attempt++;
+            }
+        }
+    }
+
+    private void backoff(int attempt, RuntimeException cause) {
+        long cap = Math.min(backoffMaxMs, backoffBaseMs << Math.min(attempt - 1, 20));
+        if (cap <= 0) {
+            return;
+        }
+        long delay = ThreadLocalRandom.current().nextLong(cap / 2, cap + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.MovementQuantity;
+import desafio.nexdom.desafio.dto.ProductStockLevel;
+import desafio.nexdom.desafio.dto.StockReconciliationProgress;
+import desafio.nexdom.desafio.dto.StockReconciliationReport;
+import desafio.nexdom.desafio.event.ProductChangedEvent;
+import desafio.nexdom.desafio.exception.ReconciliationInProgressException;
+import desafio.nexdom.desafio.interfaces.IStockReconciliationService;
+import desafio.nexdom.desafio.jfr.BulkOperationEvent;
+import desafio.nexdom.desafio.model.MovementType;
+import desafio.nexdom.desafio.repository.ProductRepository;
+import desafio.nexdom.desafio.repository.StockCheckpointRepository;
+import desafio.nexdom.desafio.repository.StockMovementRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Compara Product.stockQuantity com o saldo líquido das movimentações (entradas - saídas).
+// O ledger é lido em streaming e somado em blocos paralelos num ForkJoinPool;
+// só o mapa produto -> saldo fica em memória, não as movimentações.
+@Service
+public class StockReconciliationServiceImpl implements IStockReconciliationService {
+    private static final Logger LOG = LoggerFactory.getLogger(StockReconciliationServiceImpl.class);
+
+    // O ledger é somado de novo dentro do UPDATE, já com a linha do produto travada: uma movimentação gravada entre
+    // a soma e a leitura do estoque muda o saldo e a correção não apaga o efeito dela
+    private static final String CORRECT_SQL = "UPDATE products SET stock_quantity = ?, version = version + 1 "
+            + "WHERE id = ? AND stock_quantity = ? AND (SELECT COALESCE(SUM(CASE WHEN m.movement_type = 'SAIDA' "
+            + "THEN -m.quantity ELSE m.quantity END), 0) FROM stock_movements m WHERE m.product_id = products.id) = ?";
+
+    private final ProductRepository productRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final StockCheckpointRepository checkpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final int updateBatchSize;
+    private final int maxSamples;
+    private final boolean scheduledAutoCorrect;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong movementsScanned = new AtomicLong();
+    private final AtomicLong productsChecked = new AtomicLong();
+    private final AtomicLong mismatchesFound = new AtomicLong();
+    private final AtomicLong withoutMovements = new AtomicLong();
+    private volatile Instant startedAt;
+
+    private final Counter movementsCounter;
+    private final Counter mismatchesCounter;
+    private final Counter correctedCounter;
+    private final Timer durationTimer;
+
+    public StockReconciliationServiceImpl(ProductRepository productRepository,
+            StockMovementRepository stockMovementRepository,
+            StockCheckpointRepository checkpointRepository,
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${stock.reconciliation.parallelism:0}") int parallelism,
+            @Value("${stock.reconciliation.chunk-size:10000}") int chunkSize,
+            @Value("${stock.reconciliation.update-batch-size:500}") int updateBatchSize,
+            @Value("${stock.reconciliation.max-samples:1000}") int maxSamples,
+            @Value("${stock.reconciliation.auto-correct:false}") boolean scheduledAutoCorrect) {
+        this.productRepository = productRepository;
+        this.stockMovementRepository = stockMovementRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        // Correções em transações próprias, curtas, enquanto o streaming de leitura continua aberto
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.chunkSize = Math.max(1, chunkSize);
+        this.updateBatchSize = Math.max(1, updateBatchSize);
+        this.maxSamples = Math.max(0, maxSamples);
+        this.scheduledAutoCorrect = scheduledAutoCorrect;
+
+        this.movementsCounter = meterRegistry.counter("stock.reconciliation.movements");
+        this.mismatchesCounter = meterRegistry.counter("stock.reconciliation.mismatches");
+        this.correctedCounter = meterRegistry.counter("stock.reconciliation.corrected");
+        this.durationTimer = meterRegistry.timer("stock.reconciliation.duration");
+        Gauge.builder("stock.reconciliation.running", running, flag -> flag.get() ? 1 : 0)
+                .register(meterRegistry);
+        Gauge.builder("stock.reconciliation.progress.movements", movementsScanned, AtomicLong::get)
+                .description("Movimentações somadas na execução atual")
+                .register(meterRegistry);
+        Gauge.builder("stock.reconciliation.progress.products", productsChecked, AtomicLong::get)
+                .description("Produtos comparados na execução atual")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${stock.reconciliation.cron:-}")
+    public void scheduledReconciliation() {
+        try {
+            reconcile(scheduledAutoCorrect);
+        } catch (ReconciliationInProgressException e) {
+            LOG.warn("Conciliação agendada ignorada: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public StockReconciliationReport reconcile(boolean autoCorrect) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ReconciliationInProgressException();
+        }
+        try {
+            movementsScanned.set(0);
+            productsChecked.set(0);
+            mismatchesFound.set(0);
+            withoutMovements.set(0);
+            startedAt = Instant.now();
+
+            StockReconciliationReport report = new StockReconciliationReport();
+            report.setStartedAt(startedAt);
+            report.setAutoCorrect(autoCorrect);
+
+            BulkOperationEvent bulkEvent = new BulkOperationEvent();
+            bulkEvent.begin();
+            bulkEvent.operation = "stock-reconciliation";
+            bulkEvent.outcome = "error";
+            long start = System.nanoTime();
+            try {
+                Map<Long, Long> ledger = readTransaction.execute(status -> sumLedger());
+                readTransaction.executeWithoutResult(status -> compare(ledger, autoCorrect, report));
+                bulkEvent.outcome = "ok";
+            } finally {
+                bulkEvent.items = movementsScanned.get();
+                bulkEvent.commit();
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            durationTimer.record(Duration.ofNanos(elapsedNanos));
+
+            report.setMovementsScanned(movementsScanned.get());
+            report.setProductsChecked(productsChecked.get());
+            report.setMismatches(mismatchesFound.get());
+            report.setProductsWithoutMovements(withoutMovements.get());
+            report.setDurationMs(elapsedNanos / 1_000_000);
+            report.setMovementsPerSecond(elapsedNanos > 0 ? movementsScanned.get() * 1e9 / elapsedNanos : 0);
+            LOG.info("Conciliação de estoque: {} movimentações, {} produtos, {} divergências, {} corrigidas em {} ms",
+                    report.getMovementsScanned(), report.getProductsChecked(), report.getMismatches(),
+                    report.getCorrected(), report.getDurationMs());
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public StockReconciliationProgress getProgress() {
+        return new StockReconciliationProgress(running.get(), startedAt, movementsScanned.get(),
+                productsChecked.get(), mismatchesFound.get());
+    }
+
+    private Map<Long, Long> sumLedger() {
+        Map<Long, Long> totals = new HashMap<>();
+        // Limita os blocos pendentes para a leitura não correr na frente da soma e encher a memória
+        int maxInFlight = pool.getParallelism() * 2;
+        Deque<ForkJoinTask<Map<Long, Long>>> inFlight = new ArrayDeque<>();
+        List<MovementQuantity> chunk = new ArrayList<>(chunkSize);
+        try (Stream<MovementQuantity> rows = stockMovementRepository.streamQuantities()) {
+            Iterator<MovementQuantity> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize) {
+                    List<MovementQuantity> full = chunk;
+                    inFlight.add(pool.submit(() -> sumChunk(full)));
+                    chunk = new ArrayList<>(chunkSize);
+                    while (inFlight.size() > maxInFlight) {
+                        merge(totals, inFlight.poll().join());
+                    }
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            List<MovementQuantity> last = chunk;
+            inFlight.add(pool.submit(() -> sumChunk(last)));
+        }
+        while (!inFlight.isEmpty()) {
+            merge(totals, inFlight.poll().join());
+        }
+        return totals;
+    }
+
+    private Map<Long, Long> sumChunk(List<MovementQuantity> chunk) {
+        Map<Long, Long> partial = new HashMap<>();
+        for (MovementQuantity row : chunk) {
+            long quantity = row.getQuantity() != null ? row.getQuantity() : 0;
+            partial.merge(row.getProductId(), row.getMovementType() == MovementType.SAIDA ? -quantity : quantity, Long::sum);
+        }
+        movementsScanned.addAndGet(chunk.size());
+        movementsCounter.increment(chunk.size());
+        return partial;
+    }
+
+    private static void merge(Map<Long, Long> totals, Map<Long, Long> partial) {
+        partial.forEach((productId, net) -> totals.merge(productId, net, Long::sum));
+    }
+
+    private void compare(Map<Long, Long> ledger, boolean autoCorrect, StockReconciliationReport report) {
+        List<StockReconciliationReport.Mismatch> corrections = new ArrayList<>();
+        try (Stream<ProductStockLevel> products = productRepository.streamStockLevels()) {
+            Iterator<ProductStockLevel> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                ProductStockLevel product = iterator.next();
+                productsChecked.incrementAndGet();
+                int recorded = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
+                Long net = ledger.get(product.getProductId());
+                if (net == null) {
+                    // Cadastro e importação gravam o estoque inicial sem movimentação: sem ledger não há o que
+                    // comparar, e "corrigir" para zero apagaria estoque real
+                    if (recorded != 0) {
+                        withoutMovements.incrementAndGet();
+                    }
+                    continue;
+                }
+                long expected = net;
+                if (recorded == expected) {
+                    continue;
+                }
+                mismatchesFound.incrementAndGet();
+                mismatchesCounter.increment();
+                StockReconciliationReport.Mismatch mismatch =
+                        new StockReconciliationReport.Mismatch(product.getProductId(), recorded, expected);
+                if (report.getSamples().size() < maxSamples) {
+                    report.getSamples().add(mismatch);
+                } else {
+                    report.setSamplesTruncated(true);
+                }
+                // Saldo negativo ou fora do int indica histórico incompleto; fica só no relatório
+                if (autoCorrect && expected >= 0 && expected <= Integer.MAX_VALUE) {
+                    corrections.add(mismatch);
+                    if (corrections.size() >= updateBatchSize) {
+                        applyCorrections(corrections, report);
+                        corrections.clear();
+                    }
+                }
+            }
+        }
+        if (!corrections.isEmpty()) {
+            applyCorrections(corrections, report);
+        }
+    }
+
+    void applyCorrections(List<StockReconciliationReport.Mismatch> corrections, StockReconciliationReport report) {
+        List<StockReconciliationReport.Mismatch> batch = List.copyOf(corrections);
+        // Escrita, releitura e eventos na transação de escrita: a releitura vai ao primário, nunca à réplica,
+        // e os eventos saem depois do commit com o estoque corrigido
+        int corrected = writeTransaction.execute(status -> {
+            int[] counts = jdbcTemplate.batchUpdate(CORRECT_SQL, batch.stream()
+                    .map(mismatch -> new Object[] {
+                            (int) mismatch.getLedgerQuantity(), mismatch.getProductId(), mismatch.getRecordedQuantity(),
+                            mismatch.getLedgerQuantity() })
+                    .toList());
+            // Checkpoints gravados desde o início da execução podem ter copiado o estoque divergente
+            LocalDateTime shiftFrom = report.getStartedAt() != null
+                    ? LocalDateTime.ofInstant(report.getStartedAt(), ZoneId.systemDefault())
+                    : LocalDateTime.now();
+            List<Long> correctedIds = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                // Produto ou ledger alterado depois da leitura não casa com o WHERE e fica para a próxima execução
+                if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                    StockReconciliationReport.Mismatch mismatch = batch.get(i);
+                    correctedIds.add(mismatch.getProductId());
+                    checkpointRepository.shiftFrom(mismatch.getProductId(), shiftFrom,
+                            (int) (mismatch.getLedgerQuantity() - mismatch.getRecordedQuantity()));
+                }
+            }
+            productRepository.findAllById(correctedIds)
+                    .forEach(product -> eventPublisher.publishEvent(ProductChangedEvent.saved(product)));
+            return correctedIds.size();
+        });
+        report.setCorrected(report.getCorrected() + corrected);
+        correctedCounter.increment(corrected);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
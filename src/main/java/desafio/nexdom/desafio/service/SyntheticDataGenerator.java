@@ -0,0 +1,138 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.model.MovementType;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.model.StockMovement;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+// Catálogo e histórico sintéticos para testes de carga e benchmarks. Mesma especificação e semente geram
+// exatamente os mesmos dados. As movimentações saem em ordem de data, os produtos são escolhidos por uma
+// distribuição de Zipf (skew 0 = uniforme; perto de 1 poucos SKUs concentram o movimento) e uma saída
+// nunca excede o saldo do produto, então o estoque final bate com o histórico.
+public final class SyntheticDataGenerator {
+    private static final String[] TYPES = { "ELECTRONIC", "APPLIANCE", "FURNITURE", "BOOK" };
+    private static final String[][] NAMES = {
+        { "Notebook", "Smartphone", "Monitor", "Fone de ouvido", "Teclado", "Mouse", "Tablet", "Roteador" },
+        { "Geladeira", "Micro-ondas", "Liquidificador", "Cafeteira", "Aspirador", "Ventilador", "Fogão", "Batedeira" },
+        { "Cadeira", "Mesa", "Estante", "Sofá", "Armário", "Escrivaninha", "Poltrona", "Rack" },
+        { "Romance", "Manual técnico", "Dicionário", "Biografia", "Livro infantil", "Atlas", "Coletânea", "Guia" }
+    };
+    private static final String[] VARIANTS = { "Básico", "Plus", "Pro", "Compacto", "Premium", "Econômico" };
+
+    public record Spec(int products, long movements, double skew, long seed, LocalDateTime end, Duration span,
+            String codePrefix) {
+
+        public Spec {
+            if (products <= 0) {
+                throw new IllegalArgumentException("A quantidade de produtos deve ser maior que zero");
+            }
+            if (movements < 0) {
+                throw new IllegalArgumentException("A quantidade de movimentações não pode ser negativa");
+            }
+            if (skew < 0) {
+                throw new IllegalArgumentException("O skew não pode ser negativo");
+            }
+            if (span.isNegative() || span.isZero()) {
+                throw new IllegalArgumentException("O período das movimentações deve ser positivo");
+            }
+        }
+    }
+
+    private SyntheticDataGenerator() {
+    }
+
+    // Produtos com ids 1..n e estoque zero; o estoque é preenchido por movements()
+    public static List<Product> products(Spec spec) {
+        Random random = new Random(spec.seed());
+        List<Product> products = new ArrayList<>(spec.products());
+        for (int i = 0; i < spec.products(); i++) {
+            int type = random.nextInt(TYPES.length);
+            Product product = new Product();
+            product.setId(i + 1L);
+            product.setCode(String.format("%s%07d", spec.codePrefix(), i + 1));
+            product.setDescription(NAMES[type][random.nextInt(NAMES[type].length)] + " "
+                    + VARIANTS[random.nextInt(VARIANTS.length)] + " " + (i + 1));
+            product.setType(TYPES[type]);
+            // Preços log-normais: muitos itens baratos e poucos caros, entre 1,00 e 20.000,00
+            double price = Math.exp(4 + 1.5 * random.nextGaussian());
+            product.setSupplierValue(BigDecimal.valueOf(Math.round(Math.min(20_000, Math.max(1, price)) * 100), 2));
+            product.setStockQuantity(0);
+            product.setReorderThreshold(random.nextInt(4) == 0 ? 5 + random.nextInt(20) : 0);
+            products.add(product);
+        }
+        return products;
+    }
+
+    // Entrega as movimentações em ordem de data (ids sequenciais a partir de 1) e deixa em cada produto
+    // o saldo final do histórico gerado
+    public static void movements(Spec spec, List<Product> products, Consumer<StockMovement> sink) {
+        Random random = new Random(spec.seed() ^ 0x5DEECE66DL);
+        double[] cumulative = zipfCumulative(products.size(), spec.skew());
+        long[] balances = new long[products.size()];
+        LocalDateTime start = spec.end().minus(spec.span());
+        long stepNanos = spec.movements() == 0 ? 0 : spec.span().toNanos() / spec.movements();
+
+        for (long i = 0; i < spec.movements(); i++) {
+            int index = pick(cumulative, random.nextDouble());
+            Product product = products.get(index);
+            long balance = balances[index];
+            int wanted = 1 + (int) Math.min(50, Math.abs(random.nextGaussian() * 4));
+            // Repõe quando o saldo não cobre a venda ou, ao acaso com saldo baixo, para formar lotes intercalados
+            boolean entry = balance < wanted || (balance < wanted * 10L && random.nextInt(3) == 0);
+            int quantity = entry ? wanted * (5 + random.nextInt(20)) : wanted;
+            balances[index] = entry ? balance + quantity : balance - quantity;
+
+            StockMovement movement = new StockMovement();
+            movement.setId(i + 1);
+            movement.setProduct(product);
+            movement.setMovementType(entry ? MovementType.ENTRADA : MovementType.SAIDA);
+            movement.setQuantity(quantity);
+            movement.setMovementDate(start.plusNanos(stepNanos * (i + 1)).withNano(0));
+            BigDecimal supplierValue = product.getSupplierValue();
+            if (entry) {
+                movement.setPurchaseValue(percentOf(supplierValue, 90 + random.nextInt(21)));
+                movement.setSaleValue(supplierValue);
+                movement.setDescription("Compra sintética");
+            } else {
+                movement.setSaleValue(percentOf(supplierValue, 120 + random.nextInt(61)));
+                movement.setDescription("Venda sintética");
+            }
+            sink.accept(movement);
+        }
+
+        for (int i = 0; i < products.size(); i++) {
+            products.get(i).setStockQuantity((int) Math.min(Integer.MAX_VALUE, balances[i]));
+        }
+    }
+
+    private static BigDecimal percentOf(BigDecimal value, int percent) {
+        long cents = MoneyCents.toCents(value) * percent / 100;
+        return MoneyCents.toBigDecimal(Math.max(1, cents));
+    }
+
+    private static double[] zipfCumulative(int size, double skew) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1.0 / Math.pow(rank + 1, skew);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, double sample) {
+        int index = Arrays.binarySearch(cumulative, sample);
+        return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+    }
+}
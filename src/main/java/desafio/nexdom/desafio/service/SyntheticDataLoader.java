@@ -0,0 +1,137 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.SyntheticDataReport;
+import desafio.nexdom.desafio.jfr.BulkOperationEvent;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.model.StockMovement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Grava os dados do SyntheticDataGenerator por JDBC em lotes, sem passar pelo JPA: um lote por transação,
+// então só um lote de movimentações fica em memória mesmo com milhões de linhas
+@Service
+public class SyntheticDataLoader {
+    private static final Logger LOG = LoggerFactory.getLogger(SyntheticDataLoader.class);
+
+    private static final String INSERT_PRODUCT_SQL = "INSERT INTO products (code, description, type, supplier_value, "
+            + "stock_quantity, reorder_threshold, created_at, version) VALUES (?, ?, ?, ?, 0, ?, ?, 0)";
+    private static final String INSERT_MOVEMENT_SQL = "INSERT INTO stock_movements (product_id, movement_type, "
+            + "sale_value, purchase_value, quantity, movement_date, description) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    // O prefixo é comparado literalmente: "_" e "%" no prefixo não viram curingas
+    private static final String CODE_PREFIX_CONDITION = "code LIKE ? ESCAPE '\\'";
+    private static final String UPDATE_STOCK_SQL = "UPDATE products SET stock_quantity = ?, version = version + 1 "
+            + "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SyntheticDataLoader(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public SyntheticDataReport load(SyntheticDataGenerator.Spec spec, int batchSize) {
+        int safeBatchSize = Math.max(1, batchSize);
+        BulkOperationEvent bulkEvent = new BulkOperationEvent();
+        bulkEvent.begin();
+        bulkEvent.operation = "synthetic-load";
+        bulkEvent.outcome = "error";
+        long started = System.nanoTime();
+        long[] written = { 0 };
+        try {
+            Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products WHERE " + CODE_PREFIX_CONDITION,
+                    Integer.class, likePrefix(spec.codePrefix()));
+            if (existing != null && existing > 0) {
+                bulkEvent.outcome = "prefix-in-use";
+                throw new IllegalStateException("Já existem " + existing + " produtos com o prefixo '" + spec.codePrefix()
+                        + "'; use outro prefixo ou limpe a base antes de gerar novos dados");
+            }
+
+            List<Product> products = SyntheticDataGenerator.products(spec);
+            // Cadastrados no início do período, antes da primeira movimentação gerada
+            Timestamp createdAt = Timestamp.valueOf(spec.end().minus(spec.span()));
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, products, safeBatchSize, (ps, product) -> {
+                        ps.setString(1, product.getCode());
+                        ps.setString(2, product.getDescription());
+                        ps.setString(3, product.getType());
+                        ps.setBigDecimal(4, product.getSupplierValue());
+                        ps.setInt(5, product.getReorderThreshold());
+                        ps.setTimestamp(6, createdAt);
+                    }));
+            Map<Long, Long> databaseIds = databaseIds(spec.codePrefix(), products);
+
+            List<StockMovement> batch = new ArrayList<>(safeBatchSize);
+            SyntheticDataGenerator.movements(spec, products, movement -> {
+                batch.add(movement);
+                if (batch.size() >= safeBatchSize) {
+                    written[0] += insertMovements(batch, databaseIds);
+                    if (written[0] % (safeBatchSize * 100L) == 0) {
+                        LOG.info("Dados sintéticos: {} de {} movimentações gravadas", written[0], spec.movements());
+                    }
+                }
+            });
+            written[0] += insertMovements(batch, databaseIds);
+
+            // O estoque final vem do próprio histórico, então a conciliação não encontra divergências
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPDATE_STOCK_SQL, products, safeBatchSize, (ps, product) -> {
+                        ps.setInt(1, product.getStockQuantity());
+                        ps.setLong(2, databaseIds.get(product.getId()));
+                    }));
+
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+            LOG.info("Dados sintéticos gerados: {} produtos e {} movimentações em {} ms", products.size(), written[0],
+                    elapsedMs);
+            bulkEvent.outcome = "ok";
+            return new SyntheticDataReport(products.size(), written[0], elapsedMs);
+        } finally {
+            bulkEvent.items = written[0];
+            bulkEvent.commit();
+        }
+    }
+
+    private Map<Long, Long> databaseIds(String codePrefix, List<Product> products) {
+        Map<String, Long> idsByCode = new HashMap<>(products.size() * 2);
+        jdbcTemplate.query("SELECT id, code FROM products WHERE " + CODE_PREFIX_CONDITION,
+                rs -> {
+                    idsByCode.put(rs.getString(2), rs.getLong(1));
+                }, likePrefix(codePrefix));
+        Map<Long, Long> databaseIds = new HashMap<>(products.size() * 2);
+        products.forEach(product -> databaseIds.put(product.getId(), idsByCode.get(product.getCode())));
+        return databaseIds;
+    }
+
+    static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private int insertMovements(List<StockMovement> batch, Map<Long, Long> databaseIds) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_MOVEMENT_SQL, batch, batch.size(), (ps, movement) -> {
+                    ps.setLong(1, databaseIds.get(movement.getProduct().getId()));
+                    ps.setString(2, movement.getMovementType().name());
+                    ps.setBigDecimal(3, movement.getSaleValue());
+                    ps.setBigDecimal(4, movement.getPurchaseValue());
+                    ps.setInt(5, movement.getQuantity());
+                    ps.setTimestamp(6, Timestamp.valueOf(movement.getMovementDate()));
+                    ps.setString(7, movement.getDescription());
+                }));
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+}
@@ -0,0 +1,99 @@
+package desafio.nexdom.desafio;
+
+import desafio.nexdom.desafio.model.MovementType;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.model.StockMovement;
+import desafio.nexdom.desafio.repository.ProductRepository;
+import desafio.nexdom.desafio.repository.StockMovementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static desafio.nexdom.desafio.support.StatementCountAssertions.assertMaxStatements;
+import static desafio.nexdom.desafio.support.StatementCountAssertions.countStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "datasource.inspection.enabled=true")
+@AutoConfigureMockMvc
+@DisplayName("Orçamento de comandos SQL por endpoint")
+class StatementBudgetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = new Product();
+        product.setCode("SQL-" + UUID.randomUUID().toString().substring(0, 8));
+        product.setDescription("Produto do orçamento de SQL");
+        product.setType("ELECTRONIC");
+        product.setSupplierValue(new BigDecimal("10.00"));
+        product.setStockQuantity(30);
+        product = productRepository.save(product);
+
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        List<StockMovement> movements = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            StockMovement movement = new StockMovement();
+            movement.setProduct(product);
+            movement.setMovementType(MovementType.ENTRADA);
+            movement.setQuantity(1);
+            movement.setPurchaseValue(new BigDecimal("9.00"));
+            movement.setSaleValue(new BigDecimal("10.00"));
+            movement.setMovementDate(start.plusMinutes(i));
+            movements.add(movement);
+        }
+        stockMovementRepository.saveAll(movements);
+    }
+
+    @Test
+    @DisplayName("Busca por cursor carrega movimentações e produtos em uma única consulta")
+    void testCursorSearchUsesSingleQuery() {
+        assertMaxStatements(1, "GET /api/stock-movements/search", () -> mockMvc
+                .perform(get("/api/stock-movements/search")
+                        .param("productId", product.getId().toString())
+                        .param("size", "30"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("Movimentações por produto não executam uma consulta por linha")
+    void testMovementsByProductDoNotGrowWithPageSize() {
+        int smallPage = countStatements(() -> mockMvc
+                .perform(get("/api/stock-movements/by-product/" + product.getId()).param("size", "5"))
+                .andExpect(status().isOk()));
+        int fullPage = assertMaxStatements(3, "GET /api/stock-movements/by-product/{productId}", () -> countStatements(
+                () -> mockMvc.perform(get("/api/stock-movements/by-product/" + product.getId()).param("size", "30"))
+                        .andExpect(status().isOk())));
+
+        assertEquals(smallPage, fullPage);
+    }
+
+    @Test
+    @DisplayName("Busca de produto por id executa uma consulta")
+    void testProductByIdUsesSingleQuery() {
+        assertMaxStatements(1, "GET /api/products/{id}", () -> mockMvc
+                .perform(get("/api/products/" + product.getId()))
+                .andExpect(status().isOk()));
+    }
+}
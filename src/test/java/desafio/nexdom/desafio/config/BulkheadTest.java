@@ -0,0 +1,52 @@
+package desafio.nexdom.desafio.config;
+
+import desafio.nexdom.desafio.exception.BulkheadFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    void testRejectsWhenConcurrencyAndQueueAreFull() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Bulkhead bulkhead = new Bulkhead("analytics", 1, 0, 0, 3).bindTo(meterRegistry);
+        bulkhead.acquire();
+
+        BulkheadFullException ex = assertThrows(BulkheadFullException.class, bulkhead::acquire);
+
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1, bulkhead.active());
+        assertEquals(1.0, meterRegistry.get("bulkhead.rejected").tag("name", "analytics").counter().count());
+    }
+
+    @Test
+    void testQueuedCallerIsAdmittedWhenPermitIsReleased() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("analytics", 1, 1, 5000, 1);
+        bulkhead.acquire();
+
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(bulkhead::acquire);
+        while (bulkhead.queued() == 0) {
+            Thread.sleep(5);
+        }
+        bulkhead.release();
+
+        waiting.get(5, TimeUnit.SECONDS);
+        assertEquals(1, bulkhead.active());
+        assertEquals(0, bulkhead.queued());
+    }
+
+    @Test
+    void testQueuedCallerTimesOut() {
+        Bulkhead bulkhead = new Bulkhead("analytics", 1, 1, 20, 1);
+        bulkhead.acquire();
+
+        assertThrows(BulkheadFullException.class, bulkhead::acquire);
+        assertEquals(0, bulkhead.queued());
+    }
+}
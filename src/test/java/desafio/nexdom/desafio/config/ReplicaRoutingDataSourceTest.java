@@ -0,0 +1,110 @@
+package desafio.nexdom.desafio.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+
+    @AfterEach
+    void tearDown() {
+        if (primary != null) {
+            primary.shutdown();
+        }
+        if (replica != null) {
+            replica.shutdown();
+        }
+    }
+
+    private EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + System.nanoTime())
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return database;
+    }
+
+    private ReplicaRoutingDataSource routing(String lagQuery) {
+        primary = database("primary");
+        replica = database("replica");
+        return new ReplicaRoutingDataSource(primary, replica, new SimpleMeterRegistry(), 5000, lagQuery);
+    }
+
+    private String currentNode(DataSource dataSource, boolean readOnly) {
+        DataSource lazy = new LazyConnectionDataSourceProxy(dataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(lazy));
+        transactionTemplate.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(lazy);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToReplica() {
+        ReplicaRoutingDataSource routing = routing(null);
+
+        assertEquals("replica", currentNode(routing, true));
+        assertEquals("primary", currentNode(routing, false));
+    }
+
+    @Test
+    void testForcedPrimaryScopeOverridesReadOnlyRouting() {
+        ReplicaRoutingDataSource routing = routing(null);
+
+        assertEquals("primary", ReplicaRoutingDataSource.onPrimary(() -> currentNode(routing, true)));
+        assertEquals("replica", currentNode(routing, true));
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() {
+        ReplicaRoutingDataSource routing = routing("SELECT 30");
+
+        routing.probe();
+
+        assertFalse(routing.isReplicaUsable());
+        assertEquals("primary", currentNode(routing, true));
+    }
+
+    @Test
+    void testReplicaWithinLagToleranceStaysInUse() {
+        ReplicaRoutingDataSource routing = routing("SELECT 1");
+
+        routing.probe();
+
+        assertTrue(routing.isReplicaUsable());
+        assertEquals("replica", currentNode(routing, true));
+    }
+
+    @Test
+    void testUnreachableReplicaFallsBackToPrimary() {
+        primary = database("primary");
+        DataSource unreachable = new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                throw new SQLException("réplica fora do ar");
+            }
+        };
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, unreachable, new SimpleMeterRegistry(), 5000, null);
+
+        assertEquals("primary", currentNode(routing, true));
+        assertFalse(routing.isReplicaUsable());
+    }
+}
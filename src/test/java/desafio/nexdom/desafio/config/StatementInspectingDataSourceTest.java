@@ -0,0 +1,76 @@
+package desafio.nexdom.desafio.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementInspectingDataSourceTest {
+    private StatementInspectingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:inspection;DB_CLOSE_DELAY=-1");
+        dataSource = new StatementInspectingDataSource(h2, 0);
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS items (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+            statement.execute("DELETE FROM items");
+        }
+    }
+
+    @Test
+    void testCountsEveryExecutionInTheOpenScope() throws Exception {
+        try (StatementStats.Scope scope = StatementStats.open();
+                Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO items VALUES (?, ?)")) {
+                insert.setLong(1, 1L);
+                insert.setString(2, "a");
+                insert.executeUpdate();
+                insert.setLong(1, 2L);
+                insert.setNull(2, java.sql.Types.VARCHAR);
+                insert.addBatch();
+                insert.executeBatch();
+            }
+            try (Statement statement = connection.createStatement();
+                    ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM items")) {
+                assertTrue(rs.next());
+                assertEquals(2, rs.getInt(1));
+            }
+
+            assertEquals(3, scope.statements());
+        }
+    }
+
+    @Test
+    void testNestedScopesAlsoCountInTheOuterScope() throws Exception {
+        try (StatementStats.Scope outer = StatementStats.open();
+                Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT 1").close();
+            try (StatementStats.Scope inner = StatementStats.open()) {
+                statement.executeQuery("SELECT 2").close();
+                assertEquals(1, inner.statements());
+            }
+            statement.executeQuery("SELECT 3").close();
+
+            assertEquals(3, outer.statements());
+        }
+    }
+
+    @Test
+    void testExecutionsOutsideAnyScopeAreIgnored() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT 1").close();
+        }
+        try (StatementStats.Scope scope = StatementStats.open()) {
+            assertEquals(0, scope.statements());
+        }
+    }
+}
@@ -2,8 +2,13 @@ package desafio.nexdom.desafio.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.util.List;
+import desafio.nexdom.desafio.dto.ProductImportReport;
 import desafio.nexdom.desafio.dto.ProductRequest;
+import desafio.nexdom.desafio.dto.ProductSearchHit;
+import desafio.nexdom.desafio.dto.ProductSearchResponse;
 import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.interfaces.IProductImportService;
+import desafio.nexdom.desafio.interfaces.IProductSearchService;
 import desafio.nexdom.desafio.interfaces.IProductService;
 import desafio.nexdom.desafio.interfaces.IStockMovementService;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +22,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -41,6 +47,15 @@ class ProductControllerTest {
 
     @MockBean
     private IStockMovementService stockMovementService;
+
+    @MockBean
+    private IProductImportService productImportService;
+
+    @MockBean
+    private IProductSearchService productSearchService;
+
+    @MockBean
+    private desafio.nexdom.desafio.interfaces.ILowStockService lowStockService;
     
     private Product testProduct;
     private ProductRequest testProductRequest;
@@ -135,4 +150,62 @@ class ProductControllerTest {
                 
         verify(productService, times(1)).findByType(any(), any(Pageable.class));
     }
+
+    @Test
+    void testImportProducts() throws Exception {
+        ProductImportReport report = new ProductImportReport();
+        report.setTotalRows(2);
+        report.setInserted(1);
+        report.setUpdated(1);
+        when(productImportService.importCsv(any())).thenReturn(report);
+
+        MockMultipartFile file = new MockMultipartFile("file", "produtos.csv", "text/csv",
+                "code,description,type,supplierValue,stockQuantity\nP-1,Produto 1,ELETRÔNICO,10.00,5\n".getBytes());
+
+        mockMvc.perform(multipart("/api/products/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.updated").value(1));
+
+        verify(productImportService, times(1)).importCsv(any());
+    }
+
+    @Test
+    void testSearchProducts() throws Exception {
+        ProductSearchResponse searchResponse = new ProductSearchResponse("test", 0, 10, 1,
+                List.of(new ProductSearchHit(1L, "TEST-001", "Test Product", "ELECTRONIC", 2.5)));
+        when(productSearchService.search("test", 0, 10)).thenReturn(searchResponse);
+
+        mockMvc.perform(get("/api/products/search?q=test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.results[0].code").value("TEST-001"));
+
+        verify(productSearchService, times(1)).search("test", 0, 10);
+    }
+
+    @Test
+    void testGetProductsByIds() throws Exception {
+        when(productService.findAllByIds(List.of(1L, 2L))).thenReturn(java.util.Map.of(1L, testProduct));
+
+        mockMvc.perform(get("/api/products/batch?ids=1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products['1'].code").value(testProduct.getCode()))
+                .andExpect(jsonPath("$.missingIds[0]").value(2));
+
+        verify(productService, times(1)).findAllByIds(List.of(1L, 2L));
+    }
+
+    @Test
+    void testGetLowStockProducts() throws Exception {
+        when(lowStockService.findMostUrgent(5)).thenReturn(List.of(
+                new desafio.nexdom.desafio.dto.LowStockItem(1L, "TEST-001", "Test Product", 2, 10, -8)));
+
+        mockMvc.perform(get("/api/products/low-stock?limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].code").value("TEST-001"))
+                .andExpect(jsonPath("$[0].headroom").value(-8));
+
+        verify(lowStockService, times(1)).findMostUrgent(5);
+    }
 }
@@ -30,6 +30,8 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -54,6 +56,9 @@ class StockMovementControllerTest {
     @MockBean
     private desafio.nexdom.desafio.hateoas.HateoasResponseAssembler hateoasAssembler;
 
+    @MockBean
+    private desafio.nexdom.desafio.service.DashboardStatsCache dashboardStatsCache;
+
     private Product testProduct;
     private StockMovement testMovement;
     private StockMovementRequest testMovementRequest;
@@ -166,6 +171,24 @@ class StockMovementControllerTest {
         verify(stockMovementService, times(1)).updateMovement(anyLong(), any(StockMovementRequest.class));
     }
 
+    @Test
+    void testDeleteMovement() throws Exception {
+        mockMvc.perform(delete("/api/stock-movements/1"))
+                .andExpect(status().isNoContent());
+
+        verify(stockMovementService, times(1)).deleteMovement(1L);
+    }
+
+    @Test
+    void testDeleteMovementsReportsMissingIds() throws Exception {
+        when(stockMovementService.deleteMovements(List.of(1L, 2L))).thenReturn(List.of(1L));
+
+        mockMvc.perform(delete("/api/stock-movements?ids=1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deletedIds[0]").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(2));
+    }
+
     @Test
     void testGetProfitByProduct() throws Exception {
         ProfitResultDto profitResult = new ProfitResultDto(BigDecimal.valueOf(250), 10);
@@ -184,4 +207,53 @@ class StockMovementControllerTest {
                 
         verify(stockMovementService, times(1)).calculateProfitAndTotalSold(1L);
     }
+
+    @Test
+    void testGetProfitByProducts() throws Exception {
+        when(stockMovementService.calculateProfitForProducts(List.of(1L, 2L)))
+            .thenReturn(new desafio.nexdom.desafio.dto.ProfitBatchResponse(
+                java.util.Map.of(1L, new ProfitResultDto(BigDecimal.valueOf(250), 10)), List.of(2L), List.of()));
+
+        mockMvc.perform(get("/api/stock-movements/profit?productIds=1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profits['1'].totalSold").value(10))
+                .andExpect(jsonPath("$.missingIds[0]").value(2));
+
+        verify(stockMovementService, times(1)).calculateProfitForProducts(List.of(1L, 2L));
+    }
+
+    @Test
+    void testSearchMovementsBindsFilter() throws Exception {
+        when(stockMovementService.findMovements(any(), any(), anyInt()))
+            .thenReturn(new desafio.nexdom.desafio.dto.MovementCursorPage(List.of(testMovementModel), "abc", true, 1));
+
+        mockMvc.perform(get("/api/stock-movements/search")
+                .param("productId", "1")
+                .param("movementType", "SAIDA")
+                .param("from", "2025-03-01T00:00:00")
+                .param("to", "2025-04-01T00:00:00")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("abc"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        org.mockito.ArgumentCaptor<desafio.nexdom.desafio.dto.StockMovementFilter> filter =
+            org.mockito.ArgumentCaptor.forClass(desafio.nexdom.desafio.dto.StockMovementFilter.class);
+        verify(stockMovementService).findMovements(filter.capture(), isNull(), eq(1));
+        org.junit.jupiter.api.Assertions.assertEquals(MovementType.SAIDA, filter.getValue().getMovementType());
+        org.junit.jupiter.api.Assertions.assertEquals(LocalDateTime.parse("2025-03-01T00:00:00"), filter.getValue().getFrom());
+    }
+
+    @Test
+    void testDashboardStatsServedFromSnapshot() throws Exception {
+        when(dashboardStatsCache.get()).thenReturn(new desafio.nexdom.desafio.dto.DashboardStatsDto(
+            BigDecimal.valueOf(1000), List.of(), java.time.Instant.parse("2024-01-01T10:00:00Z"), 1500L));
+
+        mockMvc.perform(get("/api/stock-movements/dashboard/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalStockValue").value(1000))
+            .andExpect(jsonPath("$.snapshotAgeMs").value(1500));
+
+        verify(stockMovementService, never()).getDashboardStats();
+    }
 }
@@ -0,0 +1,73 @@
+package desafio.nexdom.desafio.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrSettingsTest {
+
+    private static Configuration shippedSettings() throws Exception {
+        try (InputStream input = JfrSettingsTest.class.getResourceAsStream("/jfr/nexdom.jfc")) {
+            assertNotNull(input);
+            return Configuration.create(new InputStreamReader(input, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testSettingsProfileCoversEveryEvent() throws Exception {
+        Map<String, String> settings = shippedSettings().getSettings();
+
+        for (Class<?> event : List.of(StockMovementCreationEvent.class, FifoProfitCalculationEvent.class,
+                DashboardComputationEvent.class, BulkOperationEvent.class)) {
+            String name = event.getAnnotation(jdk.jfr.Name.class).value();
+            assertEquals("true", settings.get(name + "#enabled"), name);
+        }
+    }
+
+    @Test
+    void testThresholdsKeepFastOperationsOutOfProduction() throws Exception {
+        Map<String, String> settings = shippedSettings().getSettings();
+
+        assertEquals("1 ms", settings.get("desafio.nexdom.StockMovementCreation#threshold"));
+        assertEquals("5 ms", settings.get("desafio.nexdom.FifoProfitCalculation#threshold"));
+        assertEquals("0 ms", settings.get("desafio.nexdom.DashboardComputation#threshold"));
+        assertEquals("0 ms", settings.get("desafio.nexdom.BulkOperation#threshold"));
+    }
+
+    @Test
+    void testEventsAreRecordedWithShippedSettings(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("nexdom.jfr");
+        try (Recording recording = new Recording(shippedSettings())) {
+            recording.start();
+
+            DashboardComputationEvent dashboard = new DashboardComputationEvent();
+            dashboard.begin();
+            dashboard.products = 42;
+            dashboard.skipped = 1;
+            dashboard.commit();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, List<RecordedEvent>> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("desafio.nexdom."))
+                .collect(Collectors.groupingBy(event -> event.getEventType().getName()));
+
+        assertEquals(1, events.get("desafio.nexdom.DashboardComputation").size());
+        assertEquals(42, events.get("desafio.nexdom.DashboardComputation").get(0).getInt("products"));
+    }
+}
@@ -0,0 +1,106 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.config.StatementBudget;
+import desafio.nexdom.desafio.dto.DashboardStatsDto;
+import desafio.nexdom.desafio.interfaces.IStockMovementQueryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardStatsCacheTest {
+    @Mock
+    private IStockMovementQueryService queryService;
+
+    @Mock
+    private ObjectProvider<StatementBudget> statementBudget;
+
+    private MeterRegistry meterRegistry;
+    private DashboardStatsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new DashboardStatsCache(queryService, meterRegistry, true, 0, statementBudget);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void testFirstReadComputesAndLaterReadsUseSnapshot() {
+        when(queryService.getDashboardStats()).thenReturn(new DashboardStatsDto(BigDecimal.TEN, List.of()));
+
+        DashboardStatsDto first = cache.get();
+        DashboardStatsDto second = cache.get();
+
+        assertEquals(BigDecimal.TEN, second.getTotalStockValue());
+        assertNotNull(first.getGeneratedAt());
+        assertEquals(first.getGeneratedAt(), second.getGeneratedAt());
+        assertTrue(second.getSnapshotAgeMs() >= 0);
+        verify(queryService, times(1)).getDashboardStats();
+    }
+
+    @Test
+    void testFailedRefreshKeepsLastGoodSnapshot() {
+        when(queryService.getDashboardStats())
+            .thenReturn(new DashboardStatsDto(BigDecimal.TEN, List.of()))
+            .thenThrow(new IllegalStateException("banco indisponível"));
+
+        cache.get();
+        cache.refreshNow();
+
+        assertEquals(BigDecimal.TEN, cache.get().getTotalStockValue());
+        assertEquals(1.0, meterRegistry.get("dashboard.stats.refresh").tag("outcome", "failure").counter().count());
+    }
+
+    @Test
+    void testRefreshReplacesSnapshot() {
+        when(queryService.getDashboardStats())
+            .thenReturn(new DashboardStatsDto(BigDecimal.TEN, List.of()))
+            .thenReturn(new DashboardStatsDto(BigDecimal.ONE, List.of()));
+
+        cache.get();
+        cache.refreshNow();
+
+        assertEquals(BigDecimal.ONE, cache.get().getTotalStockValue());
+    }
+
+    @Test
+    void testFailureWithoutSnapshotIsReported() {
+        when(queryService.getDashboardStats()).thenThrow(new IllegalStateException("banco indisponível"));
+
+        assertThrows(IllegalStateException.class, () -> cache.get());
+    }
+
+    @Test
+    void testWriteTriggeredRefreshesAreSpacedByMinimumInterval() throws Exception {
+        DashboardStatsCache spaced = new DashboardStatsCache(queryService, meterRegistry, true, 300, statementBudget);
+        when(queryService.getDashboardStats()).thenReturn(new DashboardStatsDto(BigDecimal.TEN, List.of()));
+        try {
+            spaced.get();
+            spaced.requestRefresh();
+            spaced.requestRefresh();
+
+            Thread.sleep(100);
+            verify(queryService, times(1)).getDashboardStats();
+            verify(queryService, timeout(2000).times(2)).getDashboardStats();
+        } finally {
+            spaced.shutdown();
+        }
+    }
+}
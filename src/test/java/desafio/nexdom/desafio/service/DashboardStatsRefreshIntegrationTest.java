@@ -0,0 +1,104 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.model.MovementType;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.model.StockMovement;
+import desafio.nexdom.desafio.repository.ProductRepository;
+import desafio.nexdom.desafio.repository.StockMovementRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static desafio.nexdom.desafio.support.StatementCountAssertions.assertMaxStatements;
+import static desafio.nexdom.desafio.support.StatementCountAssertions.countStatements;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// O agendador fica praticamente parado para um recálculo concorrente não ser aproveitado pelo do teste
+@SpringBootTest(properties = {
+        "datasource.inspection.enabled=true",
+        "dashboard.stats.refresh-interval-ms=3600000"
+})
+@DisplayName("Orçamento de comandos SQL do recálculo do dashboard")
+class DashboardStatsRefreshIntegrationTest {
+    private static final int PRODUCTS = 15;
+
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+
+    @Autowired
+    private ProfitCache profitCache;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setCode("DASH-" + UUID.randomUUID().toString().substring(0, 8));
+            product.setDescription("Produto do recálculo do dashboard");
+            product.setType("ELECTRONIC");
+            product.setSupplierValue(new BigDecimal("10.00"));
+            product.setStockQuantity(1);
+            product = productRepository.save(product);
+
+            List<StockMovement> movements = new ArrayList<>();
+            movements.add(movement(product, MovementType.ENTRADA, 2, start));
+            movements.add(movement(product, MovementType.SAIDA, 1, start.plusHours(1)));
+            stockMovementRepository.saveAll(movements);
+            profitCache.invalidate(product.getId());
+        }
+    }
+
+    private static StockMovement movement(Product product, MovementType type, int quantity, LocalDateTime date) {
+        StockMovement movement = new StockMovement();
+        movement.setProduct(product);
+        movement.setMovementType(type);
+        movement.setQuantity(quantity);
+        movement.setPurchaseValue(new BigDecimal("9.00"));
+        movement.setSaleValue(new BigDecimal("12.00"));
+        movement.setMovementDate(date);
+        return movement;
+    }
+
+    private double budgetExceeded() {
+        return meterRegistry.counter("datasource.statements.budget.exceeded", "endpoint", "dashboard-stats-refresh")
+                .count();
+    }
+
+    @Test
+    @DisplayName("Recálculo com o cache de lucro frio é contado e sinalizado como N+1")
+    void testColdRefreshIsCountedAndFlagged() {
+        double exceededBefore = budgetExceeded();
+
+        int statements = countStatements(() -> dashboardStatsCache.refreshNow());
+
+        // Uma carga de histórico por produto sem lucro em cache
+        assertTrue(statements > PRODUCTS, "esperado mais de " + PRODUCTS + " comandos, executados " + statements);
+        assertTrue(budgetExceeded() > exceededBefore);
+    }
+
+    @Test
+    @DisplayName("Recálculo com o lucro em cache lê só o catálogo")
+    void testWarmRefreshUsesSingleQuery() {
+        dashboardStatsCache.refreshNow();
+
+        assertMaxStatements(1, "Recálculo do dashboard com o lucro em cache", () -> dashboardStatsCache.refreshNow());
+    }
+}
@@ -10,8 +10,10 @@ import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.MockitoAnnotations;
 
 import desafio.nexdom.desafio.dto.DashboardStatsDto;
@@ -30,6 +32,12 @@ public class DashboardStatsTest {
     @Mock
     private StockMovementRepository stockMovementRepository;
     
+    @Spy
+    private ProfitCache profitCache = new ProfitCache(new SimpleMeterRegistry(), 100, 1_000_000);
+
+    @Spy
+    private StockMetrics stockMetrics = new StockMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private StockMovementServiceImpl stockMovementService;
     
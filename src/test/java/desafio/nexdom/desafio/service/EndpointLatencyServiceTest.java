@@ -0,0 +1,74 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.EndpointLatencySnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointLatencyServiceTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EndpointLatencyServiceImpl service = new EndpointLatencyServiceImpl(meterRegistry,
+            new long[] { 100, 50 }, 60_000, 3);
+
+    @Test
+    void testSplitsByEndpointAndStatusClass() {
+        service.record("GET /api/products/{id}", 200, TimeUnit.MILLISECONDS.toNanos(10));
+        service.record("GET /api/products/{id}", 204, TimeUnit.MILLISECONDS.toNanos(20));
+        service.record("GET /api/products/{id}", 404, TimeUnit.MILLISECONDS.toNanos(5));
+        service.record("POST /api/stock-movements", 201, TimeUnit.MILLISECONDS.toNanos(80));
+
+        List<EndpointLatencySnapshot> snapshots = service.snapshot();
+
+        assertEquals(3, snapshots.size());
+        assertEquals("GET /api/products/{id}", snapshots.get(0).getEndpoint());
+        assertEquals("2xx", snapshots.get(0).getStatus());
+        assertEquals(2, snapshots.get(0).getCount());
+        assertEquals("4xx", snapshots.get(1).getStatus());
+        assertEquals(1, snapshots.get(1).getCount());
+        assertEquals(2, meterRegistry.get("http.endpoint.latency")
+                .tag("endpoint", "GET /api/products/{id}").tag("status", "2xx").timer().count());
+    }
+
+    @Test
+    void testReportsTailPercentilesAndSloCompliance() {
+        for (int i = 0; i < 990; i++) {
+            service.record("GET /api/stock-movements/dashboard/stats", 200, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        for (int i = 0; i < 10; i++) {
+            service.record("GET /api/stock-movements/dashboard/stats", 200, TimeUnit.MILLISECONDS.toNanos(400));
+        }
+
+        EndpointLatencySnapshot snapshot = service.snapshot().get(0);
+
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(10.0, snapshot.getP50Ms(), 0.1);
+        assertEquals(400.0, snapshot.getP999Ms(), 1.0);
+        assertEquals(List.of(50L, 100L), List.copyOf(snapshot.getWithinSlo().keySet()));
+        assertEquals(0.99, snapshot.getWithinSlo().get(100L), 0.0001);
+    }
+
+    @Test
+    void testResetReturnsFinalDumpAndStartsNewWindow() {
+        service.record("GET /api/products", 200, TimeUnit.MILLISECONDS.toNanos(3));
+
+        assertEquals(1, service.snapshotAndReset().get(0).getCount());
+        assertEquals(0, service.snapshot().get(0).getCount());
+
+        service.record("GET /api/products", 200, TimeUnit.MILLISECONDS.toNanos(3));
+        assertEquals(1, service.snapshot().get(0).getCount());
+    }
+
+    @Test
+    void testValuesAboveTrackableRangeAreClamped() {
+        service.record("POST /api/products/import", 200, TimeUnit.MINUTES.toNanos(5));
+
+        EndpointLatencySnapshot snapshot = service.snapshot().get(0);
+        assertEquals(1, snapshot.getCount());
+        assertEquals(60_000.0, snapshot.getMaxMs(), 60.0);
+    }
+}
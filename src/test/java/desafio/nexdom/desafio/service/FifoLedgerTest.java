@@ -0,0 +1,136 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.ProfitResultDto;
+import desafio.nexdom.desafio.exception.InsufficientEntryStockForProfitException;
+import desafio.nexdom.desafio.model.MovementType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FifoLedgerTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    @Test
+    void testMatchesFullRecalculation() {
+        FifoLedger ledger = new FifoLedger(1L, BigDecimal.valueOf(4000));
+        ledger.insert(1L, START, MovementType.ENTRADA, 10, BigDecimal.valueOf(3000), null);
+        ledger.insert(2L, START.plusDays(2), MovementType.ENTRADA, 5, BigDecimal.valueOf(3500), null);
+        ledger.insert(3L, START.plusDays(3), MovementType.SAIDA, 8, null, BigDecimal.valueOf(5800));
+        ledger.insert(4L, START.plusDays(4), MovementType.SAIDA, 4, null, BigDecimal.valueOf(6000));
+
+        ProfitResultDto result = ledger.result();
+
+        assertEquals(0, BigDecimal.valueOf(33400).compareTo(result.getProfit()));
+        assertEquals(12, result.getTotalSold());
+    }
+
+    @Test
+    void testEditingEarlyEntryRecostsLaterPositions() {
+        FifoLedger ledger = new FifoLedger(1L, BigDecimal.ONE);
+        ledger.insert(1L, START, MovementType.ENTRADA, 2, BigDecimal.valueOf(10), null);
+        ledger.insert(2L, START.plusDays(1), MovementType.ENTRADA, 2, BigDecimal.valueOf(20), null);
+        ledger.insert(3L, START.plusDays(2), MovementType.SAIDA, 3, null, BigDecimal.valueOf(30));
+
+        assertTrue(ledger.remove(1L, START, MovementType.ENTRADA));
+        ledger.insert(1L, START, MovementType.ENTRADA, 2, BigDecimal.valueOf(12), null);
+
+        // Custo: 2 x 12 + 1 x 20 = 44; receita: 90
+        assertEquals(0, BigDecimal.valueOf(46).compareTo(ledger.result().getProfit()));
+    }
+
+    @Test
+    void testInsufficientEntriesReportsSameAmountsAsFullRecalculation() {
+        FifoLedger ledger = new FifoLedger(7L, BigDecimal.ONE);
+        ledger.insert(1L, START, MovementType.ENTRADA, 4, BigDecimal.ONE, null);
+        ledger.insert(2L, START.plusDays(1), MovementType.SAIDA, 3, null, BigDecimal.TEN);
+        ledger.insert(3L, START.plusDays(2), MovementType.SAIDA, 5, null, BigDecimal.TEN);
+
+        InsufficientEntryStockForProfitException error =
+                assertThrows(InsufficientEntryStockForProfitException.class, ledger::result);
+
+        assertTrue(error.getMessage().contains("Quantidade vendida: 5, quantidade disponível em entradas: 1"));
+    }
+
+    @Test
+    void testRemovingUnknownMovementIsReported() {
+        FifoLedger ledger = new FifoLedger(1L, BigDecimal.ONE);
+        ledger.insert(1L, START, MovementType.ENTRADA, 1, BigDecimal.ONE, null);
+
+        assertFalse(ledger.remove(1L, START, MovementType.SAIDA));
+        assertFalse(ledger.remove(2L, START, MovementType.ENTRADA));
+    }
+
+    @Test
+    void testRandomEditsMatchFullRecalculation() {
+        Random random = new Random(42);
+        List<Movement> movements = new ArrayList<>();
+        FifoLedger ledger = new FifoLedger(1L, BigDecimal.valueOf(5));
+        for (long id = 1; id <= 200; id++) {
+            Movement movement = randomMovement(random, id);
+            movements.add(movement);
+            insert(ledger, movement);
+        }
+
+        for (int edit = 0; edit < 500; edit++) {
+            int index = random.nextInt(movements.size());
+            Movement previous = movements.get(index);
+            Movement replacement = randomMovement(random, previous.id());
+            replacement = new Movement(previous.id(), previous.date(), replacement.type(), replacement.quantity(),
+                    replacement.purchaseValue(), replacement.saleValue());
+            assertTrue(ledger.remove(previous.id(), previous.date(), previous.type()));
+            insert(ledger, replacement);
+            movements.set(index, replacement);
+
+            assertSameOutcome(recalculate(movements), ledger);
+        }
+    }
+
+    private static Movement randomMovement(Random random, long id) {
+        boolean entry = random.nextBoolean();
+        BigDecimal value = random.nextInt(4) == 0 ? null : BigDecimal.valueOf(1 + random.nextInt(500), 2);
+        return new Movement(id, START.plusMinutes(random.nextInt(10_000)),
+                entry ? MovementType.ENTRADA : MovementType.SAIDA, 1 + random.nextInt(20),
+                entry ? value : null, entry ? null : value);
+    }
+
+    private static void insert(FifoLedger ledger, Movement movement) {
+        ledger.insert(movement.id(), movement.date(), movement.type(), movement.quantity(),
+                movement.purchaseValue(), movement.saleValue());
+    }
+
+    private static Object recalculate(List<Movement> movements) {
+        FifoProfitCalculator calculator = new FifoProfitCalculator(1L, BigDecimal.valueOf(5));
+        movements.stream()
+                .sorted(Comparator.comparing(Movement::date).thenComparing(Movement::id))
+                .forEach(m -> calculator.accept(m.type(), m.quantity(), m.purchaseValue(), m.saleValue()));
+        try {
+            return calculator.result();
+        } catch (InsufficientEntryStockForProfitException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static void assertSameOutcome(Object expected, FifoLedger ledger) {
+        if (expected instanceof String message) {
+            InsufficientEntryStockForProfitException error =
+                    assertThrows(InsufficientEntryStockForProfitException.class, ledger::result);
+            assertEquals(message, error.getMessage());
+            return;
+        }
+        ProfitResultDto expectedResult = (ProfitResultDto) expected;
+        ProfitResultDto actual = ledger.result();
+        assertEquals(0, expectedResult.getProfit().compareTo(actual.getProfit()));
+        assertEquals(expectedResult.getTotalSold(), actual.getTotalSold());
+    }
+
+    private record Movement(Long id, LocalDateTime date, MovementType type, int quantity,
+            BigDecimal purchaseValue, BigDecimal saleValue) {
+    }
+}
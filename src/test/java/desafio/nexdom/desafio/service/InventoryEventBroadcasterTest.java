@@ -0,0 +1,102 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.event.StockMovementRecordedEvent;
+import desafio.nexdom.desafio.model.MovementType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryEventBroadcasterTest {
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        broadcaster = new InventoryEventBroadcaster(meterRegistry, 2, 8, 50, 60000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void testSubscriberLimitIsEnforced() {
+        broadcaster.subscribe();
+        broadcaster.subscribe();
+
+        assertEquals(2, broadcaster.subscriberCount());
+        assertThrows(RejectedExecutionException.class, () -> broadcaster.subscribe());
+    }
+
+    @Test
+    void testMovementEventsArePublishedToSubscribers() {
+        broadcaster.subscribe();
+
+        broadcaster.onStockMovementRecorded(new StockMovementRecordedEvent(1L, 1L, MovementType.SAIDA, 2, 8,
+                BigDecimal.valueOf(-200), 1L));
+
+        assertEquals(1.0, meterRegistry.get("inventory.events.published").counter().count());
+        assertEquals(1.0, meterRegistry.get("inventory.events.subscribers").gauge().value());
+    }
+
+    @Test
+    void testHeartbeatsAreNotCountedAsPublished() {
+        broadcaster.subscribe();
+
+        broadcaster.heartbeat();
+
+        assertEquals(0.0, meterRegistry.get("inventory.events.published").counter().count());
+    }
+
+    @Test
+    void testStalledSubscriberIsEvictedWithoutBlockingOthers() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(1);
+        broadcaster.subscribe(new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                sending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        broadcaster.subscribe(new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                delivered.countDown();
+            }
+        });
+
+        try {
+            broadcaster.onStockMovementRecorded(new StockMovementRecordedEvent(1L, 1L, MovementType.ENTRADA, 2, 8,
+                    BigDecimal.valueOf(200), 1L));
+
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            broadcaster.evictStalledSubscribers();
+
+            assertEquals(1, broadcaster.subscriberCount());
+            assertEquals(1.0, meterRegistry.get("inventory.events.evicted").counter().count());
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.LowStockItem;
+import desafio.nexdom.desafio.event.LowStockCrossedEvent;
+import desafio.nexdom.desafio.event.ProductChangedEvent;
+import desafio.nexdom.desafio.event.StockMovementRecordedEvent;
+import desafio.nexdom.desafio.model.MovementType;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LowStockServiceTest {
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private LowStockServiceImpl lowStockService;
+
+    @BeforeEach
+    void setUp() {
+        lowStockService = new LowStockServiceImpl(productRepository, eventPublisher);
+    }
+
+    private Product product(long id, int stock, Integer threshold) {
+        Product product = new Product();
+        product.setId(id);
+        product.setCode("P-" + id);
+        product.setDescription("Produto " + id);
+        product.setType("ELETRÔNICO");
+        product.setSupplierValue(BigDecimal.TEN);
+        product.setStockQuantity(stock);
+        product.setReorderThreshold(threshold);
+        return product;
+    }
+
+    private StockMovementRecordedEvent movement(long productId, int stockAfter) {
+        return movement(productId, stockAfter, null);
+    }
+
+    private StockMovementRecordedEvent movement(long productId, int stockAfter, Long version) {
+        return new StockMovementRecordedEvent(99L, productId, MovementType.SAIDA, 1, stockAfter, BigDecimal.ONE, version);
+    }
+
+    @Test
+    void testRebuildReturnsMostUrgentFirst() {
+        when(productRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(
+                product(1L, 4, 5), product(2L, 0, 10), product(3L, 50, 5), product(4L, 0, null))));
+
+        lowStockService.rebuild();
+        List<LowStockItem> urgent = lowStockService.findMostUrgent(10);
+
+        assertEquals(List.of(2L, 1L), urgent.stream().map(LowStockItem::getProductId).toList());
+        assertEquals(-10, urgent.get(0).getHeadroom());
+        assertEquals(1, lowStockService.findMostUrgent(1).size());
+    }
+
+    @Test
+    void testMovementCrossingThresholdNotifiesListeners() {
+        lowStockService.onProductChanged(ProductChangedEvent.saved(product(1L, 6, 5)));
+        assertTrue(lowStockService.findMostUrgent(10).isEmpty());
+
+        lowStockService.onStockMovementRecorded(movement(1L, 4));
+        lowStockService.onStockMovementRecorded(movement(1L, 3));
+
+        ArgumentCaptor<LowStockCrossedEvent> captor = ArgumentCaptor.forClass(LowStockCrossedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertTrue(captor.getValue().isLow());
+        assertEquals(3, lowStockService.findMostUrgent(10).get(0).getStockQuantity());
+    }
+
+    @Test
+    void testRestockRecoversProduct() {
+        lowStockService.onProductChanged(ProductChangedEvent.saved(product(1L, 2, 5)));
+
+        lowStockService.onStockMovementRecorded(movement(1L, 20));
+
+        assertTrue(lowStockService.findMostUrgent(10).isEmpty());
+        ArgumentCaptor<LowStockCrossedEvent> captor = ArgumentCaptor.forClass(LowStockCrossedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        assertFalse(captor.getAllValues().get(1).isLow());
+    }
+
+    @Test
+    void testOutOfOrderEventsKeepNewestStock() {
+        Product product = product(1L, 6, 5);
+        product.setVersion(3L);
+        lowStockService.onProductChanged(ProductChangedEvent.saved(product));
+
+        // Commits das versões 5 e 4 entregues invertidos
+        lowStockService.onStockMovementRecorded(movement(1L, 2, 5L));
+        lowStockService.onStockMovementRecorded(movement(1L, 4, 4L));
+        Product stale = product(1L, 8, 5);
+        stale.setVersion(4L);
+        lowStockService.onProductChanged(ProductChangedEvent.saved(stale));
+
+        assertEquals(2, lowStockService.findMostUrgent(10).get(0).getStockQuantity());
+    }
+
+    @Test
+    void testDeletedProductLeavesIndex() {
+        lowStockService.onProductChanged(ProductChangedEvent.saved(product(1L, 2, 5)));
+
+        lowStockService.onProductChanged(ProductChangedEvent.deleted(1L));
+
+        assertTrue(lowStockService.findMostUrgent(10).isEmpty());
+    }
+}
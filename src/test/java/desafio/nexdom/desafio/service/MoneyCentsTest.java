@@ -0,0 +1,29 @@
+package desafio.nexdom.desafio.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyCentsTest {
+
+    @Test
+    void testConvertsAtTwoDecimalPlaces() {
+        assertEquals(12345L, MoneyCents.toCents(new BigDecimal("123.45")));
+        assertEquals(300000L, MoneyCents.toCents(BigDecimal.valueOf(3000.0)));
+        assertEquals(new BigDecimal("123.45"), MoneyCents.toBigDecimal(12345L));
+    }
+
+    @Test
+    void testRejectsSubCentValues() {
+        assertThrows(IllegalArgumentException.class, () -> MoneyCents.toCents(new BigDecimal("0.005")));
+    }
+
+    @Test
+    void testArithmeticFailsInsteadOfWrapping() {
+        assertThrows(ArithmeticException.class, () -> MoneyCents.times(Long.MAX_VALUE / 2, 3));
+        assertThrows(ArithmeticException.class, () -> MoneyCents.plus(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> MoneyCents.minus(Long.MIN_VALUE, 1));
+    }
+}
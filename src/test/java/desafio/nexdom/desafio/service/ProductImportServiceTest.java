@@ -0,0 +1,158 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.ProductCodeVersion;
+import desafio.nexdom.desafio.dto.ProductImportReport;
+import desafio.nexdom.desafio.dto.ProductRequest;
+import desafio.nexdom.desafio.exception.InvalidImportFileException;
+import desafio.nexdom.desafio.repository.ProductRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ProductImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ProductImportServiceImpl(productRepository, jdbcTemplate, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher, 2, 10);
+    }
+
+    private ProductImportReport importCsv(String csv) {
+        return importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportSplitsInsertsAndUpdatesPerBatch() {
+        when(productRepository.findVersionsByCode(anyCollection())).thenReturn(List.of(new ProductCodeVersion("P-2", 3L)));
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE"), anyCollection(), eq(2),
+                any(ParameterizedPreparedStatementSetter.class))).thenReturn(new int[][] { { 1 } });
+
+        ProductImportReport report = importCsv("""
+                code,description,type,supplierValue,stockQuantity
+                P-1,Produto 1,ELETRÔNICO,10.00,5
+                P-2,"Produto 2, versão nova",ELETRÔNICO,20.00,3
+                P-3,Produto 3,MÓVEL,30.00,1
+                """);
+
+        assertEquals(3, report.getTotalRows());
+        assertEquals(2, report.getInserted());
+        assertEquals(1, report.getUpdated());
+        assertEquals(0, report.getRejected());
+        // lotes de 2 linhas: uma consulta de códigos por lote, não por linha
+        verify(productRepository, times(2)).findVersionsByCode(anyCollection());
+
+        ArgumentCaptor<Collection<Object>> updated = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE"), updated.capture(), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(1, updated.getValue().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReorderThresholdIsOptionalAndDefaultsToZeroOnInsert() throws Exception {
+        when(productRepository.findVersionsByCode(anyCollection())).thenReturn(List.of());
+
+        importCsv("""
+                code,description,type,supplierValue,stockQuantity,reorderThreshold
+                P-1,Produto 1,ELETRÔNICO,10.00,5,7
+                P-2,Produto 2,ELETRÔNICO,20.00,3,
+                """);
+
+        ArgumentCaptor<Collection<ProductRequest>> inserted = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<ProductRequest>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT"), inserted.capture(), eq(2), setter.capture());
+        List<ProductRequest> rows = List.copyOf(inserted.getValue());
+        PreparedStatement first = mock(PreparedStatement.class);
+        PreparedStatement second = mock(PreparedStatement.class);
+        setter.getValue().setValues(first, rows.get(0));
+        setter.getValue().setValues(second, rows.get(1));
+
+        verify(first).setInt(6, 7);
+        verify(second).setInt(6, 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdateKeepsStockAndReportsVersionConflicts() throws Exception {
+        when(productRepository.findVersionsByCode(anyCollection())).thenReturn(List.of(
+                new ProductCodeVersion("P-1", 4L), new ProductCodeVersion("P-2", 7L)));
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Object>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        ArgumentCaptor<Collection<Object>> updated = ArgumentCaptor.forClass(Collection.class);
+        // P-2 foi alterado entre a leitura da versão e o UPDATE
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE"), updated.capture(), eq(2), setter.capture()))
+                .thenReturn(new int[][] { { 1, 0 } });
+
+        ProductImportReport report = importCsv("""
+                code,description,type,supplierValue,stockQuantity
+                P-1,Produto 1,ELETRÔNICO,10.00,50
+                P-2,Produto 2,ELETRÔNICO,20.00,30
+                """);
+
+        assertEquals(1, report.getUpdated());
+        assertEquals(1, report.getConflicts());
+        assertEquals(0, report.getRejected());
+        assertEquals("P-2", report.getErrors().get(0).getCode());
+        assertEquals(3L, report.getErrors().get(0).getLine());
+
+        PreparedStatement statement = mock(PreparedStatement.class);
+        setter.getValue().setValues(statement, List.copyOf(updated.getValue()).get(0));
+        verify(statement).setLong(6, 4L);
+        verify(statement, never()).setInt(anyInt(), eq(50));
+    }
+
+    @Test
+    void testInvalidRowsAreReportedWithLineNumbers() {
+        ProductImportReport report = importCsv("""
+                code,description,type,supplierValue,stockQuantity
+                P-1,,ELETRÔNICO,10.00,5
+                P-2,Produto 2,ELETRÔNICO,abc,3
+                P-3,Produto 3,MÓVEL,30.00,-1
+                """);
+
+        assertEquals(3, report.getTotalRows());
+        assertEquals(3, report.getRejected());
+        assertEquals(0, report.getInserted());
+        assertEquals(List.of(2L, 3L, 4L), report.getErrors().stream().map(ProductImportReport.RowError::getLine).toList());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testMissingHeaderColumnsAreRejected() {
+        assertThrows(InvalidImportFileException.class, () -> importCsv("code,description\nP-1,Produto 1\n"));
+    }
+}
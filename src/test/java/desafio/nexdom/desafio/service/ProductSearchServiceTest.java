@@ -0,0 +1,115 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.ProductSearchHit;
+import desafio.nexdom.desafio.dto.ProductSearchResponse;
+import desafio.nexdom.desafio.event.ProductChangedEvent;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchServiceTest {
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSearchServiceImpl searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new ProductSearchServiceImpl(productRepository, 1000);
+        searchService.index(product(1L, "ELEC-001", "Smartphone Samsung Galaxy S22"));
+        searchService.index(product(2L, "ELEC-002", "Notebook Dell Inspiron"));
+        searchService.index(product(3L, "MOV-010", "Cadeira de escritório giratória"));
+    }
+
+    private Product product(Long id, String code, String description) {
+        Product product = new Product();
+        product.setId(id);
+        product.setCode(code);
+        product.setDescription(description);
+        product.setType("ELETRÔNICO");
+        product.setSupplierValue(BigDecimal.TEN);
+        product.setStockQuantity(1);
+        return product;
+    }
+
+    private List<String> codes(ProductSearchResponse response) {
+        return response.getResults().stream().map(ProductSearchHit::getCode).toList();
+    }
+
+    @Test
+    void testCodePrefixSearchIsCaseInsensitiveAndOrdered() {
+        ProductSearchResponse response = searchService.search("elec", 0, 10);
+
+        assertEquals(List.of("ELEC-001", "ELEC-002"), codes(response));
+        assertEquals(2, response.getTotalElements());
+    }
+
+    @Test
+    void testExactCodeRanksFirst() {
+        ProductSearchResponse response = searchService.search("ELEC-002", 0, 10);
+
+        assertEquals("ELEC-002", response.getResults().get(0).getCode());
+    }
+
+    @Test
+    void testDescriptionTrigramSearchIgnoresAccents() {
+        assertEquals(List.of("MOV-010"), codes(searchService.search("escritorio", 0, 10)));
+        assertEquals(List.of("ELEC-001"), codes(searchService.search("galax", 0, 10)));
+    }
+
+    @Test
+    void testPagination() {
+        ProductSearchResponse response = searchService.search("elec", 1, 1);
+
+        assertEquals(List.of("ELEC-002"), codes(response));
+        assertEquals(2, response.getTotalElements());
+    }
+
+    @Test
+    void testIndexFollowsUpdatesAndDeletes() {
+        searchService.onProductChanged(ProductChangedEvent.saved(product(2L, "NOTE-002", "Notebook Dell Inspiron")));
+        assertEquals(List.of("ELEC-001"), codes(searchService.search("elec", 0, 10)));
+        assertEquals(List.of("NOTE-002"), codes(searchService.search("note", 0, 10)));
+
+        searchService.onProductChanged(ProductChangedEvent.deleted(2L));
+        assertTrue(searchService.search("note", 0, 10).getResults().isEmpty());
+        assertTrue(searchService.search("inspiron", 0, 10).getResults().isEmpty());
+    }
+
+    @Test
+    void testStaleUpdateDoesNotOverwriteNewerEntry() {
+        Product newer = product(2L, "NOTE-002", "Notebook Dell Inspiron");
+        newer.setVersion(3L);
+        Product older = product(2L, "ELEC-002", "Notebook Dell Inspiron");
+        older.setVersion(2L);
+
+        searchService.onProductChanged(ProductChangedEvent.saved(newer));
+        searchService.onProductChanged(ProductChangedEvent.saved(older));
+
+        assertEquals(List.of("NOTE-002"), codes(searchService.search("note", 0, 10)));
+        assertEquals(List.of("ELEC-001"), codes(searchService.search("elec", 0, 10)));
+    }
+
+    @Test
+    void testDescriptionSearchStopsAtCandidateLimit() {
+        ProductSearchServiceImpl limited = new ProductSearchServiceImpl(productRepository, 5);
+        for (long id = 1; id <= 50; id++) {
+            limited.index(product(id, "CAB-" + id, "Cabo USB modelo " + id));
+        }
+        limited.index(product(51L, "CAB-51", "Cabo USB zeta"));
+
+        assertEquals(5, limited.search("cabo usb", 0, 100).getTotalElements());
+        // Só o produto raro tem os trigramas de "zeta"; os comuns não chegam à similaridade mínima
+        assertEquals(List.of("CAB-51"), codes(limited.search("usb zeta", 0, 100)));
+    }
+}
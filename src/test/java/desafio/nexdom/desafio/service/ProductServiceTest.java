@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import java.math.BigDecimal;
 
 
@@ -27,6 +28,9 @@ class ProductServiceTest {
     @Mock
     private StockMovementRepository stockMovementRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private ProductServiceImpl productService;
 
     private Product testProduct;
@@ -39,19 +43,19 @@ class ProductServiceTest {
         testProduct.setType("ELECTRONIC");
         testProduct.setSupplierValue(BigDecimal.valueOf(100));
         testProduct.setStockQuantity(10);
-        productService = new ProductServiceImpl(productRepository, stockMovementRepository);
+        productService = new ProductServiceImpl(productRepository, stockMovementRepository, eventPublisher);
     }
 
     @Test
     void testSaveNewProduct() {
-        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(testProduct);
 
         Product savedProduct = productService.save(testProduct);
 
         assertNotNull(savedProduct);
         assertEquals(testProduct.getCode(), savedProduct.getCode());
         assertEquals(testProduct.getDescription(), savedProduct.getDescription());
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, times(1)).saveAndFlush(any(Product.class));
     }
 
     @Test
@@ -72,6 +76,7 @@ class ProductServiceTest {
         when(stockMovementRepository.findByProduct_Id(1L)).thenReturn(List.of());
         productService.deleteById(1L);
         verify(productRepository, times(1)).deleteById(1L);
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
     }
 
     @Test
@@ -83,4 +88,18 @@ class ProductServiceTest {
         assertTrue(products.getContent().size() > 0);
         verify(productRepository, times(1)).findAll(any(Pageable.class));
     }
+
+    @Test
+    void testFindAllByIdsUsesSingleQueryAndKeepsRequestOrder() {
+        Product second = new Product();
+        second.setId(2L);
+        second.setCode("TEST-002");
+        testProduct.setId(1L);
+        when(productRepository.findAllById(List.of(2L, 1L, 3L))).thenReturn(List.of(testProduct, second));
+
+        var products = productService.findAllByIds(List.of(2L, 1L, 2L, 3L));
+
+        assertEquals(List.of(2L, 1L), List.copyOf(products.keySet()));
+        verify(productRepository, times(1)).findAllById(List.of(2L, 1L, 3L));
+    }
 }
@@ -0,0 +1,221 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.ProfitResultDto;
+import desafio.nexdom.desafio.event.ProductChangedEvent;
+import desafio.nexdom.desafio.event.MovementSnapshot;
+import desafio.nexdom.desafio.event.StockMovementEditedEvent;
+import desafio.nexdom.desafio.event.StockMovementRecordedEvent;
+import desafio.nexdom.desafio.model.MovementType;
+import desafio.nexdom.desafio.model.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfitCacheTest {
+    private MeterRegistry meterRegistry;
+    private ProfitCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ProfitCache(meterRegistry, 2, 6);
+        loads = new AtomicInteger();
+    }
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    private FifoLedger load(long profit) {
+        loads.incrementAndGet();
+        FifoLedger ledger = new FifoLedger(1L, BigDecimal.ONE);
+        ledger.insert(1L, DAY, MovementType.ENTRADA, 1, BigDecimal.ZERO, null);
+        ledger.insert(2L, DAY.plusHours(1), MovementType.SAIDA, 1, null, BigDecimal.valueOf(profit));
+        return ledger;
+    }
+
+    @Test
+    void testSecondReadIsServedFromCache() {
+        cache.get(1L, () -> load(10));
+        ProfitResultDto cached = cache.get(1L, () -> load(99));
+
+        assertEquals(new BigDecimal("10.00"), cached.getProfit());
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("stock.profit.cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void testLotsVisitedAreReportedOnHitsAndMisses() {
+        List<Long> visited = new ArrayList<>();
+
+        cache.get(1L, () -> load(10), visited::add);
+        cache.get(1L, () -> load(10), visited::add);
+
+        assertEquals(List.of(1L, 1L), visited);
+    }
+
+    @Test
+    void testMovementEventsEvictProduct() {
+        cache.get(1L, () -> load(10));
+        cache.get(2L, () -> load(20));
+
+        cache.onStockMovementRecorded(new StockMovementRecordedEvent(5L, 1L, MovementType.SAIDA, 1, 4, BigDecimal.ONE, 1L));
+
+        assertEquals(new BigDecimal("11.00"), cache.get(1L, () -> load(11)).getProfit());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testEditIsAppliedToCachedLedgerWithoutReload() {
+        cache.get(1L, () -> load(10));
+
+        MovementSnapshot before = new MovementSnapshot(1L, DAY.plusHours(1), MovementType.SAIDA, 1, null, BigDecimal.TEN);
+        MovementSnapshot after = new MovementSnapshot(1L, DAY.plusHours(1), MovementType.SAIDA, 1, null, BigDecimal.valueOf(15));
+        cache.onStockMovementEdited(new StockMovementEditedEvent(2L, before, after));
+
+        assertEquals(new BigDecimal("15.00"), cache.get(1L, () -> load(99)).getProfit());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testEditMovingMovementToAnotherProductUpdatesBoth() {
+        cache.get(1L, () -> load(10));
+        cache.get(2L, () -> {
+            loads.incrementAndGet();
+            FifoLedger ledger = new FifoLedger(2L, BigDecimal.ONE);
+            ledger.insert(3L, DAY, MovementType.ENTRADA, 5, BigDecimal.ONE, null);
+            return ledger;
+        });
+
+        MovementSnapshot before = new MovementSnapshot(1L, DAY.plusHours(1), MovementType.SAIDA, 1, null, BigDecimal.TEN);
+        MovementSnapshot after = new MovementSnapshot(2L, DAY.plusHours(1), MovementType.SAIDA, 1, null, BigDecimal.TEN);
+        cache.onStockMovementEdited(new StockMovementEditedEvent(2L, before, after));
+
+        assertEquals(0, cache.get(1L, () -> load(99)).getTotalSold());
+        assertEquals(1, cache.get(2L, () -> load(99)).getTotalSold());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEditUnknownToCachedLedgerForcesReload() {
+        cache.get(1L, () -> load(10));
+
+        MovementSnapshot before = new MovementSnapshot(1L, DAY, MovementType.SAIDA, 1, null, BigDecimal.TEN);
+        cache.onStockMovementEdited(new StockMovementEditedEvent(42L, before, before));
+
+        cache.get(1L, () -> load(12));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEditFailingMidwayEvictsLedgerInsteadOfKeepingHalfApplied() {
+        cache.get(1L, () -> load(10));
+
+        MovementSnapshot before = new MovementSnapshot(1L, DAY.plusHours(1), MovementType.SAIDA, 1, null, BigDecimal.TEN);
+        MovementSnapshot after = new MovementSnapshot(1L, DAY.plusHours(1), MovementType.SAIDA, 1, null,
+                new BigDecimal("10.505"));
+        cache.onStockMovementEdited(new StockMovementEditedEvent(2L, before, after));
+
+        assertEquals(0, cache.size());
+        assertEquals(new BigDecimal("11.00"), cache.get(1L, () -> load(11)).getProfit());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testStockOnlyProductChangeKeepsEntry() {
+        cache.get(1L, () -> load(10));
+        Product product = new Product();
+        product.setId(1L);
+        product.setSupplierValue(new BigDecimal("1.00"));
+
+        cache.onProductChanged(ProductChangedEvent.saved(product));
+        assertEquals(1, cache.size());
+
+        product.setSupplierValue(BigDecimal.TEN);
+        cache.onProductChanged(ProductChangedEvent.saved(product));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testProductDeleteEvictsProduct() {
+        cache.get(1L, () -> load(10));
+
+        cache.onProductChanged(ProductChangedEvent.deleted(1L));
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.trackedVersions());
+    }
+
+    @Test
+    void testVersionsArePrunedWithEvictedEntries() {
+        for (long id = 1; id <= 50; id++) {
+            long productId = id;
+            cache.get(productId, () -> load(productId));
+            cache.onStockMovementRecorded(new StockMovementRecordedEvent(id, id, MovementType.SAIDA, 1, 4,
+                    BigDecimal.ONE, 1L));
+        }
+        cache.get(51L, () -> load(51));
+        cache.get(52L, () -> load(52));
+        cache.get(53L, () -> load(53));
+
+        // Só os produtos ainda em cache (limite de 2 entradas) guardam versão
+        assertEquals(2, cache.trackedVersions());
+        assertEquals(new BigDecimal("53.00"), cache.get(53L, () -> load(99)).getProfit());
+    }
+
+    @Test
+    void testResultComputedAcrossInvalidationIsNotStored() {
+        ProfitResultDto stale = cache.get(1L, () -> {
+            cache.invalidate(1L);
+            return load(10);
+        });
+
+        assertEquals(new BigDecimal("10.00"), stale.getProfit());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvictedAtCapacity() {
+        cache.get(1L, () -> load(10));
+        cache.get(2L, () -> load(20));
+        cache.get(1L, () -> load(10));
+        cache.get(3L, () -> load(30));
+
+        assertEquals(2, cache.size());
+        assertEquals(1.0, meterRegistry.get("stock.profit.cache.evictions").counter().count());
+        cache.get(1L, () -> load(10));
+        assertEquals(3, loads.get());
+    }
+
+    private FifoLedger heavy(long productId, int entries) {
+        loads.incrementAndGet();
+        FifoLedger ledger = new FifoLedger(productId, BigDecimal.ONE);
+        for (int i = 0; i < entries; i++) {
+            ledger.insert((long) i, DAY.plusMinutes(i), MovementType.ENTRADA, 1, BigDecimal.ONE, null);
+        }
+        return ledger;
+    }
+
+    @Test
+    void testEntriesAreEvictedByLedgerWeight() {
+        cache.get(1L, () -> load(10));
+        cache.get(2L, () -> heavy(2L, 5));
+
+        // 2 + 5 lotes passam do peso máximo (6): o mais antigo sai mesmo abaixo do limite de entradas
+        assertEquals(1, cache.size());
+        assertEquals(5, cache.weight());
+
+        cache.get(3L, () -> heavy(3L, 7));
+        assertEquals(1, cache.size());
+        cache.get(2L, () -> heavy(2L, 5));
+        assertEquals(3, loads.get());
+    }
+}
@@ -0,0 +1,105 @@
+package desafio.nexdom.desafio.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+    private MeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry, 100);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("request.coalescing.calls").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void testConcurrentCallersShareOneComputation() throws Exception {
+        int callers = 8;
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            results.add(pool.submit(() -> coalescer.execute("stats", "stats()", 0, () -> {
+                computations.incrementAndGet();
+                started.countDown();
+                release.await();
+                return "resultado";
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(pool.submit(() -> coalescer.execute("stats", "stats()", 0, () -> {
+                    computations.incrementAndGet();
+                    return "outro";
+                })));
+            }
+            while (count("coalesced") < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<Object> result : results) {
+                assertEquals("resultado", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, computations.get());
+        assertEquals(1.0, count("executed"));
+        assertEquals(callers - 1.0, count("coalesced"));
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void testFailureIsPropagatedAndNotRemembered() throws Throwable {
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("profit", "profit(1)", 1000, () -> {
+            throw new IllegalStateException("falha");
+        }));
+
+        assertEquals("ok", coalescer.execute("profit", "profit(1)", 1000, () -> "ok"));
+        assertEquals(2.0, count("executed"));
+    }
+
+    @Test
+    void testResultTtlServesRecentValue() throws Throwable {
+        AtomicInteger computations = new AtomicInteger();
+
+        coalescer.execute("profit", "profit(1)", 60_000, computations::incrementAndGet);
+        Object second = coalescer.execute("profit", "profit(1)", 60_000, computations::incrementAndGet);
+        coalescer.execute("profit", "profit(2)", 60_000, computations::incrementAndGet);
+
+        assertEquals(1, second);
+        assertEquals(2, computations.get());
+        assertEquals(1.0, count("cached"));
+    }
+
+    @Test
+    void testWithoutTtlEachSequentialCallComputes() throws Throwable {
+        AtomicInteger computations = new AtomicInteger();
+
+        coalescer.execute("stats", "stats()", 0, computations::incrementAndGet);
+        coalescer.execute("stats", "stats()", 0, computations::incrementAndGet);
+
+        assertEquals(2, computations.get());
+    }
+}
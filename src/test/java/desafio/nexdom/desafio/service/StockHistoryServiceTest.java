@@ -0,0 +1,181 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.CatalogValuationDto;
+import desafio.nexdom.desafio.dto.CheckpointRunDto;
+import desafio.nexdom.desafio.dto.ProductNetQuantity;
+import desafio.nexdom.desafio.dto.StockAsOfDto;
+import desafio.nexdom.desafio.dto.StockBaseline;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.model.StockCheckpoint;
+import desafio.nexdom.desafio.repository.ProductRepository;
+import desafio.nexdom.desafio.repository.StockCheckpointRepository;
+import desafio.nexdom.desafio.repository.StockMovementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockHistoryServiceTest {
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockMovementRepository stockMovementRepository;
+
+    @Mock
+    private StockCheckpointRepository checkpointRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StockHistoryServiceImpl stockHistoryService;
+    private Product product;
+    private final LocalDateTime asOf = LocalDateTime.of(2024, 3, 15, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        stockHistoryService = new StockHistoryServiceImpl(productRepository, stockMovementRepository,
+                checkpointRepository, jdbcTemplate, transactionManager, 0, 2);
+        product = new Product();
+        product.setId(1L);
+        product.setCode("TEST-001");
+        product.setStockQuantity(40);
+        product.setSupplierValue(BigDecimal.TEN);
+    }
+
+    private StockCheckpoint checkpoint(LocalDateTime at, int quantity) {
+        StockCheckpoint checkpoint = new StockCheckpoint();
+        checkpoint.setProductId(1L);
+        checkpoint.setCheckpointAt(at);
+        checkpoint.setStockQuantity(quantity);
+        return checkpoint;
+    }
+
+    @Test
+    void testStockAsOfAppliesDeltaSinceCheckpoint() {
+        LocalDateTime checkpointAt = LocalDateTime.of(2024, 3, 15, 2, 0);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(checkpointRepository.findFirstByProductIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(1L, asOf))
+                .thenReturn(Optional.of(checkpoint(checkpointAt, 30)));
+        when(stockMovementRepository.netQuantityBetween(1L, checkpointAt, asOf)).thenReturn(-5L);
+
+        StockAsOfDto result = stockHistoryService.getStockAsOf(1L, asOf);
+
+        assertEquals(25, result.getStockQuantity());
+        assertEquals(checkpointAt, result.getCheckpointAt());
+        verify(stockMovementRepository, never()).netQuantityAfter(any(), any());
+    }
+
+    @Test
+    void testStockAsOfBeforeFirstCheckpointWalksBackFromIt() {
+        LocalDateTime checkpointAt = LocalDateTime.of(2024, 3, 16, 2, 0);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(checkpointRepository.findFirstByProductIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(1L, asOf))
+                .thenReturn(Optional.empty());
+        when(checkpointRepository.findFirstByProductIdAndCheckpointAtGreaterThanOrderByCheckpointAtAsc(1L, asOf))
+                .thenReturn(Optional.of(checkpoint(checkpointAt, 30)));
+        when(stockMovementRepository.netQuantityBetween(1L, asOf, checkpointAt)).thenReturn(10L);
+
+        assertEquals(20, stockHistoryService.getStockAsOf(1L, asOf).getStockQuantity());
+    }
+
+    @Test
+    void testStockAsOfWithoutCheckpointsUsesCurrentStock() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(checkpointRepository.findFirstByProductIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(1L, asOf))
+                .thenReturn(Optional.empty());
+        when(checkpointRepository.findFirstByProductIdAndCheckpointAtGreaterThanOrderByCheckpointAtAsc(1L, asOf))
+                .thenReturn(Optional.empty());
+        when(stockMovementRepository.netQuantityAfter(1L, asOf)).thenReturn(15L);
+
+        StockAsOfDto result = stockHistoryService.getStockAsOf(1L, asOf);
+
+        assertEquals(25, result.getStockQuantity());
+        assertNull(result.getCheckpointAt());
+    }
+
+    @Test
+    void testCatalogValuationCombinesCheckpointsAndNewProducts() {
+        LocalDateTime checkpointAt = LocalDateTime.of(2024, 3, 15, 2, 0);
+        when(checkpointRepository.findLatestCheckpointAtOrBefore(asOf)).thenReturn(checkpointAt);
+        when(stockMovementRepository.netQuantityByProductBetween(checkpointAt, asOf))
+                .thenReturn(List.of(new ProductNetQuantity(1L, -5L)));
+        when(stockMovementRepository.netQuantityByProductAfter(asOf))
+                .thenReturn(List.of(new ProductNetQuantity(2L, 3L)));
+        when(checkpointRepository.streamBaselines(checkpointAt)).thenReturn(Stream.of(
+                new StockBaseline(1L, 40, BigDecimal.TEN, 30, null),
+                new StockBaseline(2L, 8, BigDecimal.valueOf(2), null, checkpointAt.plusHours(1)),
+                // Cadastrado depois da data consultada, com estoque inicial: fora da avaliação
+                new StockBaseline(3L, 10, BigDecimal.ONE, null, asOf.plusDays(1))));
+
+        CatalogValuationDto result = stockHistoryService.valueCatalogAsOf(asOf);
+
+        assertEquals(2, result.getProducts());
+        assertEquals(30, result.getTotalUnits());
+        assertEquals(0, BigDecimal.valueOf(260).compareTo(result.getTotalValue()));
+        assertEquals(checkpointAt, result.getCheckpointAt());
+    }
+
+    @Test
+    void testCheckpointRunInSameSecondIsSkipped() {
+        when(checkpointRepository.existsByCheckpointAt(any(LocalDateTime.class))).thenReturn(true);
+
+        CheckpointRunDto run = stockHistoryService.createCheckpoints();
+
+        assertEquals(0, run.getProducts());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testCheckpointCopiesProductsInLockedChunks() {
+        when(checkpointRepository.existsByCheckpointAt(any(LocalDateTime.class))).thenReturn(false);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(0L), eq(2)))
+                .thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(2L), eq(2)))
+                .thenReturn(List.of(5L));
+        when(jdbcTemplate.update(anyString(), any(), any(), any(), any())).thenReturn(2, 1);
+
+        CheckpointRunDto run = stockHistoryService.createCheckpoints();
+
+        assertEquals(3, run.getProducts());
+        // Cada bloco trava só as próprias linhas antes da cópia
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(0L), eq(2L));
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(2L), eq(5L));
+        verify(jdbcTemplate).update(anyString(), any(), any(), eq(0L), eq(2L));
+        verify(jdbcTemplate).update(anyString(), any(), any(), eq(2L), eq(5L));
+    }
+
+    @Test
+    void testStockAsOfBeforeProductCreationIsZero() {
+        product.setCreatedAt(asOf.plusDays(1));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        assertEquals(0, stockHistoryService.getStockAsOf(1L, asOf).getStockQuantity());
+        verifyNoInteractions(checkpointRepository, stockMovementRepository);
+    }
+
+    @Test
+    void testCheckpointInstantRoundsUpToTheNextSecond() {
+        assertEquals(LocalDateTime.of(2024, 3, 15, 2, 0, 1),
+                StockHistoryServiceImpl.nextSecond(LocalDateTime.of(2024, 3, 15, 2, 0, 0, 500_000_000)));
+        assertEquals(LocalDateTime.of(2024, 3, 15, 2, 0),
+                StockHistoryServiceImpl.nextSecond(LocalDateTime.of(2024, 3, 15, 2, 0)));
+    }
+}
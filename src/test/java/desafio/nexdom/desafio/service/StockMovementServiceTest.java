@@ -1,21 +1,38 @@
 package desafio.nexdom.desafio.service;
 
+import desafio.nexdom.desafio.event.StockMovementEditedEvent;
 import desafio.nexdom.desafio.exception.InsufficientStockException;
 import desafio.nexdom.desafio.interfaces.IProductService;
 import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.dto.MovementLedgerEntry;
+import desafio.nexdom.desafio.dto.ProfitBatchResponse;
 import desafio.nexdom.desafio.dto.ProfitResultDto;
+import desafio.nexdom.desafio.dto.StockMovementFilter;
+import desafio.nexdom.desafio.dto.StockMovementRequest;
 import desafio.nexdom.desafio.model.StockMovement;
 import desafio.nexdom.desafio.model.MovementType;
 import desafio.nexdom.desafio.repository.ProductRepository;
+import desafio.nexdom.desafio.repository.StockCheckpointRepository;
 import desafio.nexdom.desafio.repository.StockMovementRepository;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 import java.math.BigDecimal;
@@ -23,6 +40,7 @@ import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +54,17 @@ class StockMovementServiceTest {
     @Mock
     private IProductService productService;
 
+    @Mock
+    private StockCheckpointRepository checkpointRepository;
+
+    @Spy
+    private ProfitCache profitCache = new ProfitCache(new SimpleMeterRegistry(), 100, 1_000_000);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private StockMetrics stockMetrics = new StockMetrics(meterRegistry);
+
     @InjectMocks
     private StockMovementServiceImpl stockMovementService;
 
@@ -84,6 +113,7 @@ class StockMovementServiceTest {
         assertThrows(InsufficientStockException.class, () -> {
             stockMovementService.save(testMovement);
         });
+        assertEquals(1.0, meterRegistry.counter("stock.insufficient", "operation", "save").count());
     }
 
     @Test
@@ -110,7 +140,7 @@ class StockMovementServiceTest {
         BigDecimal profit = stockMovementService.calculateProfit(1L);
 
         assertNotNull(profit);
-        assertEquals(BigDecimal.valueOf(500), profit); 
+        assertEquals(new BigDecimal("500.00"), profit); 
     }
 
     @Test
@@ -135,7 +165,7 @@ class StockMovementServiceTest {
 
         BigDecimal profit = stockMovementService.calculateProfit(1L);
         assertNotNull(profit);
-        assertEquals(BigDecimal.valueOf(100), profit);
+        assertEquals(new BigDecimal("100.00"), profit);
     }
 
     @Test
@@ -161,7 +191,7 @@ class StockMovementServiceTest {
 
         var result = stockMovementService.calculateProfitAndTotalSold(1L);
         assertNotNull(result);
-        assertEquals(BigDecimal.valueOf(160), result.getProfit()); 
+        assertEquals(new BigDecimal("160.00"), result.getProfit()); 
         assertEquals(2, result.getTotalSold());
     }
     
@@ -205,7 +235,7 @@ class StockMovementServiceTest {
         BigDecimal profit = stockMovementService.calculateProfit(1L);
 
         assertNotNull(profit);
-        assertEquals(BigDecimal.valueOf(560), profit);
+        assertEquals(new BigDecimal("560.00"), profit);
     }
 
     @Test
@@ -258,11 +288,11 @@ class StockMovementServiceTest {
         
         BigDecimal profit = stockMovementService.calculateProfit(1L);
         assertNotNull(profit);
-        assertEquals(BigDecimal.ZERO, profit, "O lucro deve ser zero quando há apenas movimentos de entrada");
+        assertEquals(new BigDecimal("0.00"), profit, "O lucro deve ser zero quando há apenas movimentos de entrada");
         
         ProfitResultDto result = stockMovementService.calculateProfitAndTotalSold(1L);
         assertNotNull(result);
-        assertEquals(BigDecimal.ZERO, result.getProfit(), "O lucro deve ser zero quando há apenas movimentos de entrada");
+        assertEquals(new BigDecimal("0.00"), result.getProfit(), "O lucro deve ser zero quando há apenas movimentos de entrada");
         assertEquals(0, result.getTotalSold(), "Total vendido deve ser zero quando há apenas movimentos de entrada");
     }
     
@@ -339,7 +369,226 @@ class StockMovementServiceTest {
         // Receita: (8 * 5800.00) + (4 * 6000.00) = 46400.00 + 24000.00 = 70400.00
         // Custo: (8 * 3000.00) + (2 * 3000.00) + (2 * 3500.00) = 24000.00 + 6000.00 + 7000.00 = 37000.00
         // Lucro: 70400.00 - 37000.00 = 33400.00
-        assertEquals(BigDecimal.valueOf(33400.00), result.getProfit());
+        assertEquals(new BigDecimal("33400.00"), result.getProfit());
         assertEquals(12, result.getTotalSold());
     }
+
+    @Test
+    void testCalculateProfitForProductsInSinglePass() {
+        Product other = new Product();
+        other.setId(2L);
+        other.setCode("TEST-002");
+        other.setSupplierValue(BigDecimal.valueOf(50));
+        other.setStockQuantity(0);
+
+        LocalDateTime now = LocalDateTime.now();
+        when(productRepository.findAllById(java.util.List.of(1L, 2L, 3L)))
+            .thenReturn(java.util.List.of(testProduct, other));
+        when(stockMovementRepository.streamLedgerByProductIds(any())).thenReturn(java.util.stream.Stream.of(
+            new MovementLedgerEntry(1L, 1L, MovementType.ENTRADA, 5, BigDecimal.valueOf(100), BigDecimal.valueOf(100), now.minusDays(2)),
+            new MovementLedgerEntry(2L, 1L, MovementType.SAIDA, 5, null, BigDecimal.valueOf(200), now),
+            new MovementLedgerEntry(3L, 2L, MovementType.ENTRADA, 2, null, BigDecimal.valueOf(50), now.minusDays(1)),
+            new MovementLedgerEntry(4L, 2L, MovementType.SAIDA, 2, null, BigDecimal.valueOf(150), now)));
+
+        ProfitBatchResponse batch = stockMovementService.calculateProfitForProducts(java.util.List.of(1L, 2L, 3L));
+        java.util.Map<Long, ProfitResultDto> results = batch.getProfits();
+
+        assertEquals(java.util.List.of(1L, 2L), java.util.List.copyOf(results.keySet()));
+        assertEquals(java.util.List.of(3L), batch.getMissingIds());
+        assertTrue(batch.getFailedIds().isEmpty());
+        assertEquals(new BigDecimal("500.00"), results.get(1L).getProfit());
+        assertEquals(5, results.get(1L).getTotalSold());
+        assertEquals(new BigDecimal("200.00"), results.get(2L).getProfit());
+        verify(stockMovementRepository, times(1)).streamLedgerByProductIds(any());
+        verify(stockMovementRepository, never()).findByProduct_IdOrderByMovementDateAsc(any());
+        assertEquals(2, meterRegistry.summary("stock.profit.movements.loaded").count());
+        assertEquals(4.0, meterRegistry.summary("stock.profit.movements.loaded").totalAmount());
+        assertEquals(2.0, meterRegistry.summary("stock.profit.lots.scanned").totalAmount());
+    }
+
+    @Test
+    void testCalculateProfitForProductsReportsInconsistentLedgerPerProduct() {
+        Product other = new Product();
+        other.setId(2L);
+        other.setCode("TEST-002");
+        other.setSupplierValue(BigDecimal.valueOf(50));
+        other.setStockQuantity(0);
+
+        LocalDateTime now = LocalDateTime.now();
+        when(productRepository.findAllById(java.util.List.of(1L, 2L)))
+            .thenReturn(java.util.List.of(testProduct, other));
+        // O produto 1 vende mais do que entrou; o produto 2 continua sendo custeado
+        when(stockMovementRepository.streamLedgerByProductIds(any())).thenReturn(java.util.stream.Stream.of(
+            new MovementLedgerEntry(1L, 1L, MovementType.ENTRADA, 2, BigDecimal.valueOf(100), BigDecimal.valueOf(100), now.minusDays(2)),
+            new MovementLedgerEntry(2L, 1L, MovementType.SAIDA, 5, null, BigDecimal.valueOf(200), now),
+            new MovementLedgerEntry(3L, 2L, MovementType.ENTRADA, 2, null, BigDecimal.valueOf(50), now.minusDays(1)),
+            new MovementLedgerEntry(4L, 2L, MovementType.SAIDA, 2, null, BigDecimal.valueOf(150), now)));
+
+        ProfitBatchResponse batch = stockMovementService.calculateProfitForProducts(java.util.List.of(1L, 2L));
+
+        assertEquals(java.util.List.of(1L), batch.getFailedIds());
+        assertEquals(java.util.Set.of(2L), batch.getProfits().keySet());
+        assertEquals(new BigDecimal("200.00"), batch.getProfits().get(2L).getProfit());
+    }
+
+    @Test
+    void testFindMovementsReturnsCursorForNextSlice() {
+        StockMovement first = new StockMovement();
+        first.setId(10L);
+        first.setProduct(testProduct);
+        first.setMovementType(MovementType.SAIDA);
+        first.setSaleValue(BigDecimal.valueOf(150));
+        first.setMovementDate(LocalDateTime.of(2025, 3, 1, 10, 0));
+        first.setQuantity(1);
+
+        StockMovement second = new StockMovement();
+        second.setId(11L);
+        second.setProduct(testProduct);
+        second.setMovementType(MovementType.SAIDA);
+        second.setSaleValue(BigDecimal.valueOf(150));
+        second.setMovementDate(LocalDateTime.of(2025, 3, 2, 10, 0));
+        second.setQuantity(1);
+
+        when(stockMovementRepository.findSlice(any(), eq(2))).thenReturn(java.util.List.of(first, second));
+
+        var page = stockMovementService.findMovements(new StockMovementFilter(), null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertTrue(page.isHasNext());
+        assertEquals(new MovementCursor(first.getMovementDate(), 10L), MovementCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void testFindMovementsRejectsMalformedCursor() {
+        assertThrows(desafio.nexdom.desafio.exception.InvalidCursorException.class,
+            () -> stockMovementService.findMovements(new StockMovementFilter(), "nao-e-um-cursor", 10));
+    }
+
+    private StockMovementServiceImpl serviceWithExecutor(ApplicationEventPublisher eventPublisher) {
+        StockMutationExecutor executor = new StockMutationExecutor(mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), StockConcurrencyMode.PESSIMISTIC, 1, 0, 0, 0, 1);
+        return new StockMovementServiceImpl(stockMovementRepository, productRepository, productService,
+                executor, eventPublisher, profitCache, stockMetrics, checkpointRepository);
+    }
+
+    @Test
+    void testCreateMovementShiftsCheckpointsTakenWhileWaitingForTheRow() {
+        StockMovementServiceImpl service = serviceWithExecutor(mock(ApplicationEventPublisher.class));
+        StockMovementRequest request = new StockMovementRequest();
+        request.setProductId(1L);
+        request.setMovementType(MovementType.SAIDA);
+        request.setSaleValue(BigDecimal.valueOf(150));
+        request.setQuantity(4);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(stockMovementRepository.save(any(StockMovement.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAndFlush(testProduct)).thenReturn(testProduct);
+
+        service.createStockMovement(request);
+
+        assertEquals(6, testProduct.getStockQuantity());
+        verify(checkpointRepository).shiftFrom(eq(1L), any(LocalDateTime.class), eq(-4));
+    }
+
+    @Test
+    void testDeleteMovementsRevertsStockPerProduct() {
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        StockMovementServiceImpl service = serviceWithExecutor(eventPublisher);
+        StockMovement exit = new StockMovement();
+        exit.setId(7L);
+        exit.setProduct(testProduct);
+        exit.setMovementType(MovementType.SAIDA);
+        exit.setQuantity(3);
+        testMovement.setId(8L);
+        when(stockMovementRepository.findAllById(List.of(7L, 8L))).thenReturn(List.of(exit, testMovement));
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAndFlush(testProduct)).thenReturn(testProduct);
+
+        List<Long> deleted = service.deleteMovements(List.of(7L, 8L, 7L));
+
+        assertEquals(List.of(7L, 8L), deleted);
+        // Saída de 3 devolvida, entrada de 5 retirada: 10 + 3 - 5
+        assertEquals(8, testProduct.getStockQuantity());
+        verify(productRepository, times(1)).saveAndFlush(testProduct);
+        verify(stockMovementRepository).deleteAllInBatch(List.of(exit, testMovement));
+        verify(checkpointRepository).shiftFrom(1L, exit.getMovementDate(), 3);
+        verify(checkpointRepository).shiftFrom(1L, testMovement.getMovementDate(), -5);
+        verify(eventPublisher, times(2)).publishEvent(any(StockMovementEditedEvent.class));
+    }
+
+    @Test
+    void testDeleteFindingNothingStillRecordsBulkEvent(@TempDir Path directory) throws Exception {
+        StockMovementServiceImpl service = serviceWithExecutor(mock(ApplicationEventPublisher.class));
+        when(stockMovementRepository.findAllById(List.of(99L))).thenReturn(List.of());
+        Path file = directory.resolve("delete.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("desafio.nexdom.BulkOperation").withThreshold(Duration.ZERO);
+            recording.start();
+            assertTrue(service.deleteMovements(List.of(99L)).isEmpty());
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("desafio.nexdom.BulkOperation"))
+                .toList();
+        assertEquals(1, events.size());
+        assertEquals("movement-delete", events.get(0).getString("operation"));
+        assertEquals("empty", events.get(0).getString("outcome"));
+    }
+
+    @Test
+    void testDeleteEntryAlreadyConsumedIsRejected() {
+        StockMovementServiceImpl service = serviceWithExecutor(mock(ApplicationEventPublisher.class));
+        testMovement.setId(8L);
+        testMovement.setQuantity(15);
+        when(stockMovementRepository.findAllById(List.of(8L))).thenReturn(List.of(testMovement));
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testProduct));
+
+        assertThrows(InsufficientStockException.class, () -> service.deleteMovement(8L));
+        assertEquals(10, testProduct.getStockQuantity());
+        verify(stockMovementRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void testCrossProductEditRunsOutsidePartitionsWithRowLocks() {
+        StockMutationExecutor executor = new StockMutationExecutor(mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), StockConcurrencyMode.PARTITIONED, 1, 0, 0, 2, 10);
+        StockMovementServiceImpl service = new StockMovementServiceImpl(stockMovementRepository, productRepository,
+                productService, executor, mock(ApplicationEventPublisher.class), profitCache, stockMetrics,
+                checkpointRepository);
+        Product other = new Product();
+        other.setId(2L);
+        other.setCode("TEST-002");
+        other.setSupplierValue(BigDecimal.valueOf(50));
+        other.setStockQuantity(0);
+        testMovement.setId(8L);
+        StockMovementRequest request = new StockMovementRequest();
+        request.setProductId(2L);
+        request.setMovementType(MovementType.ENTRADA);
+        request.setSaleValue(BigDecimal.valueOf(150));
+        request.setQuantity(5);
+        when(stockMovementRepository.findProductIdById(8L)).thenReturn(Optional.of(1L));
+        when(stockMovementRepository.findById(8L)).thenReturn(Optional.of(testMovement));
+        when(stockMovementRepository.save(testMovement)).thenReturn(testMovement);
+        when(productRepository.findById(2L)).thenReturn(Optional.of(other));
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(other));
+        when(productRepository.saveAndFlush(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        try {
+            service.updateMovement(8L, request);
+        } finally {
+            executor.shutdown();
+        }
+
+        // A entrada de 5 sai do produto 1 e vai para o 2, cada um com a linha travada
+        assertEquals(5, testProduct.getStockQuantity());
+        assertEquals(5, other.getStockQuantity());
+        verify(productRepository).findByIdForUpdate(1L);
+        verify(productRepository).findByIdForUpdate(2L);
+        verify(checkpointRepository).shiftFrom(1L, testMovement.getMovementDate(), -5);
+        verify(checkpointRepository).shiftFrom(2L, testMovement.getMovementDate(), 5);
+    }
 }
@@ -0,0 +1,150 @@
+package desafio.nexdom.desafio.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import desafio.nexdom.desafio.model.Product;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockMutationExecutorTest {
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private StockMutationExecutor executor(StockConcurrencyMode mode, int maxAttempts) {
+        return new StockMutationExecutor(transactionManager, meterRegistry, mode, maxAttempts, 0, 0, 4, 100);
+    }
+
+    @Test
+    void testOptimisticModeRetriesUntilSuccess() {
+        StockMutationExecutor executor = executor(StockConcurrencyMode.OPTIMISTIC, 5);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Product.class, 1L);
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+        assertEquals(2.0, meterRegistry.get("stock.mutation.retries").counter().count());
+        assertEquals(0.0, meterRegistry.get("stock.mutation.retries.exhausted").counter().count());
+    }
+
+    @Test
+    void testOptimisticModeGivesUpAfterMaxAttempts() {
+        StockMutationExecutor executor = executor(StockConcurrencyMode.OPTIMISTIC, 3);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> executor.execute(() -> {
+            calls.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Product.class, 1L);
+        }));
+
+        assertEquals(3, calls.get());
+        assertEquals(1.0, meterRegistry.get("stock.mutation.retries.exhausted").counter().count());
+    }
+
+    @Test
+    void testPessimisticModeDoesNotRetry() {
+        StockMutationExecutor executor = executor(StockConcurrencyMode.PESSIMISTIC, 5);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertTrue(executor.usesRowLock());
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> executor.execute(() -> {
+            calls.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Product.class, 1L);
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testPartitionedModeRunsSameProductOnSingleThread() {
+        StockMutationExecutor executor = executor(StockConcurrencyMode.PARTITIONED, 3);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Set<Boolean> rowLocks = ConcurrentHashMap.newKeySet();
+
+        try {
+            CompletableFuture<?>[] calls = new CompletableFuture<?>[20];
+            for (int i = 0; i < calls.length; i++) {
+                calls[i] = CompletableFuture.runAsync(() -> executor.execute(7L, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    threads.add(Thread.currentThread().getName());
+                    rowLocks.add(executor.usesRowLock());
+                    running.decrementAndGet();
+                    return null;
+                }));
+            }
+            CompletableFuture.allOf(calls).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(Set.of(false), rowLocks);
+        assertTrue(executor.usesRowLock());
+        assertEquals(1, threads.size());
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void testPartitionedModeRetriesConflictsThroughTheQueue() {
+        StockMutationExecutor executor = executor(StockConcurrencyMode.PARTITIONED, 5);
+        AtomicInteger calls = new AtomicInteger();
+
+        try {
+            String result = executor.execute(7L, () -> {
+                if (calls.incrementAndGet() < 3) {
+                    throw new ObjectOptimisticLockingFailureException(Product.class, 7L);
+                }
+                return "ok";
+            });
+
+            assertEquals("ok", result);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(3, calls.get());
+        assertEquals(2.0, meterRegistry.get("stock.mutation.retries").counter().count());
+    }
+
+    @Test
+    void testThreadNamedLikePartitionIsNotTreatedAsOne() throws Exception {
+        StockMutationExecutor executor = executor(StockConcurrencyMode.PARTITIONED, 3);
+        AtomicBoolean rowLock = new AtomicBoolean();
+
+        try {
+            Thread impostor = new Thread(() -> rowLock.set(executor.usesRowLock()), "stock-partition-0");
+            impostor.start();
+            impostor.join();
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(rowLock.get());
+    }
+}
@@ -0,0 +1,112 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.StockReconciliationReport;
+import desafio.nexdom.desafio.model.MovementType;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.model.StockMovement;
+import desafio.nexdom.desafio.repository.ProductRepository;
+import desafio.nexdom.desafio.repository.StockMovementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@DisplayName("Correção da conciliação contra o banco")
+class StockReconciliationIntegrationTest {
+
+    @Autowired
+    private StockReconciliationServiceImpl reconciliationService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = new Product();
+        product.setCode("REC-" + UUID.randomUUID().toString().substring(0, 8));
+        product.setDescription("Produto da conciliação");
+        product.setType("ELECTRONIC");
+        product.setSupplierValue(new BigDecimal("10.00"));
+        product.setStockQuantity(10);
+        product = productRepository.save(product);
+        stockMovementRepository.save(entry(10));
+    }
+
+    private StockMovement entry(int quantity) {
+        StockMovement movement = new StockMovement();
+        movement.setProduct(product);
+        movement.setMovementType(MovementType.ENTRADA);
+        movement.setQuantity(quantity);
+        movement.setPurchaseValue(new BigDecimal("9.00"));
+        movement.setMovementDate(LocalDateTime.now());
+        return movement;
+    }
+
+    private int currentStock() {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = ?", Integer.class,
+                product.getId());
+    }
+
+    @Test
+    @DisplayName("Movimentação gravada entre a soma do ledger e a leitura do estoque não é desfeita")
+    void testMovementCommittedBetweenPhasesIsNotOverwritten() {
+        // Fase 1 somou 10; a entrada de 3 grava movimentação e estoque; fase 2 lê 13 e acusa divergência
+        stockMovementRepository.save(entry(3));
+        jdbcTemplate.update("UPDATE products SET stock_quantity = 13 WHERE id = ?", product.getId());
+        StockReconciliationReport report = new StockReconciliationReport();
+
+        reconciliationService.applyCorrections(
+                List.of(new StockReconciliationReport.Mismatch(product.getId(), 13, 10)), report);
+
+        assertEquals(0, report.getCorrected());
+        assertEquals(13, currentStock());
+    }
+
+    @Test
+    @DisplayName("Divergência real continua sendo corrigida para o saldo do ledger")
+    void testDriftStillCorrected() {
+        jdbcTemplate.update("UPDATE products SET stock_quantity = 25 WHERE id = ?", product.getId());
+        StockReconciliationReport report = new StockReconciliationReport();
+
+        reconciliationService.applyCorrections(
+                List.of(new StockReconciliationReport.Mismatch(product.getId(), 25, 10)), report);
+
+        assertEquals(1, report.getCorrected());
+        assertEquals(10, currentStock());
+    }
+
+    @Test
+    @DisplayName("Produto com estoque inicial e sem movimentações mantém o estoque na correção automática")
+    void testProductWithoutMovementsKeepsOpeningStock() {
+        Product opening = new Product();
+        opening.setCode("REC-" + UUID.randomUUID().toString().substring(0, 8));
+        opening.setDescription("Produto cadastrado com estoque inicial");
+        opening.setType("ELECTRONIC");
+        opening.setSupplierValue(new BigDecimal("10.00"));
+        opening.setStockQuantity(10);
+        opening = productRepository.save(opening);
+
+        reconciliationService.reconcile(true);
+
+        assertEquals(10, jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = ?",
+                Integer.class, opening.getId()));
+    }
+}
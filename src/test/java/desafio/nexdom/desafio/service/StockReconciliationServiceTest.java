@@ -0,0 +1,125 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.dto.MovementQuantity;
+import desafio.nexdom.desafio.dto.ProductStockLevel;
+import desafio.nexdom.desafio.dto.StockReconciliationReport;
+import desafio.nexdom.desafio.model.MovementType;
+import desafio.nexdom.desafio.repository.ProductRepository;
+import desafio.nexdom.desafio.repository.StockCheckpointRepository;
+import desafio.nexdom.desafio.repository.StockMovementRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReconciliationServiceTest {
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockMovementRepository stockMovementRepository;
+
+    @Mock
+    private StockCheckpointRepository checkpointRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private StockReconciliationServiceImpl reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Blocos de 3 linhas para o produto 1 atravessar a fronteira entre blocos
+        reconciliationService = new StockReconciliationServiceImpl(productRepository, stockMovementRepository,
+                checkpointRepository, jdbcTemplate, eventPublisher, transactionManager, meterRegistry, 2, 3, 500, 10, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reconciliationService.shutdown();
+    }
+
+    private void givenLedgerAndProducts() {
+        when(stockMovementRepository.streamQuantities()).thenReturn(Stream.of(
+                new MovementQuantity(1L, MovementType.ENTRADA, 10),
+                new MovementQuantity(1L, MovementType.SAIDA, 3),
+                new MovementQuantity(1L, MovementType.ENTRADA, 5),
+                new MovementQuantity(1L, MovementType.SAIDA, 2),
+                new MovementQuantity(2L, MovementType.ENTRADA, 4),
+                new MovementQuantity(3L, MovementType.SAIDA, 1)));
+        when(productRepository.streamStockLevels()).thenReturn(Stream.of(
+                new ProductStockLevel(1L, 10),
+                new ProductStockLevel(2L, 9),
+                new ProductStockLevel(3L, 0),
+                new ProductStockLevel(4L, 0),
+                new ProductStockLevel(5L, 7)));
+    }
+
+    @Test
+    void testReportsMismatchesWithoutCorrecting() {
+        givenLedgerAndProducts();
+
+        StockReconciliationReport report = reconciliationService.reconcile(false);
+
+        assertEquals(6, report.getMovementsScanned());
+        assertEquals(5, report.getProductsChecked());
+        assertEquals(2, report.getMismatches());
+        assertEquals(1, report.getProductsWithoutMovements());
+        assertEquals(0, report.getCorrected());
+        assertEquals(2L, report.getSamples().get(0).getProductId());
+        assertEquals(4L, report.getSamples().get(0).getLedgerQuantity());
+        assertEquals(-1L, report.getSamples().get(1).getLedgerQuantity());
+        verifyNoInteractions(jdbcTemplate);
+        assertFalse(reconciliationService.getProgress().isRunning());
+        assertEquals(6.0, meterRegistry.get("stock.reconciliation.movements").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAutoCorrectUpdatesOnlyValidLedgerBalances() {
+        givenLedgerAndProducts();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 1 });
+        when(productRepository.findAllById(List.of(2L))).thenReturn(new ArrayList<>());
+
+        StockReconciliationReport report = reconciliationService.reconcile(true);
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertArrayEquals(new Object[] { 4, 2L, 9, 4L }, captor.getValue().get(0));
+        assertEquals(1, report.getCorrected());
+        assertEquals(2, report.getMismatches());
+        // Estoque inicial sem movimentação (produto 5) não é zerado; o checkpoint do corrigido acompanha o ajuste
+        verify(checkpointRepository).shiftFrom(eq(2L), any(LocalDateTime.class), eq(-5));
+        verifyNoMoreInteractions(checkpointRepository);
+    }
+}
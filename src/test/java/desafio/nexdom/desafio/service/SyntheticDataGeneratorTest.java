@@ -0,0 +1,88 @@
+package desafio.nexdom.desafio.service;
+
+import desafio.nexdom.desafio.model.MovementType;
+import desafio.nexdom.desafio.model.Product;
+import desafio.nexdom.desafio.model.StockMovement;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDataGeneratorTest {
+    private static final LocalDateTime END = LocalDateTime.of(2024, 6, 30, 18, 0);
+
+    private static SyntheticDataGenerator.Spec spec(long movements, double skew, long seed) {
+        return new SyntheticDataGenerator.Spec(50, movements, skew, seed, END, Duration.ofDays(90), "SYN-");
+    }
+
+    private static List<StockMovement> generate(SyntheticDataGenerator.Spec spec, List<Product> products) {
+        List<StockMovement> movements = new ArrayList<>();
+        SyntheticDataGenerator.movements(spec, products, movements::add);
+        return movements;
+    }
+
+    @Test
+    void testSameSeedGeneratesSameData() {
+        SyntheticDataGenerator.Spec spec = spec(2_000, 1.0, 7);
+        List<Product> first = SyntheticDataGenerator.products(spec);
+        List<Product> second = SyntheticDataGenerator.products(spec);
+        List<StockMovement> firstMovements = generate(spec, first);
+        List<StockMovement> secondMovements = generate(spec, second);
+
+        assertEquals(first.get(10).getCode(), second.get(10).getCode());
+        assertEquals(first.get(10).getSupplierValue(), second.get(10).getSupplierValue());
+        for (int i = 0; i < firstMovements.size(); i++) {
+            assertEquals(firstMovements.get(i).getProduct().getId(), secondMovements.get(i).getProduct().getId());
+            assertEquals(firstMovements.get(i).getQuantity(), secondMovements.get(i).getQuantity());
+            assertEquals(firstMovements.get(i).getSaleValue(), secondMovements.get(i).getSaleValue());
+        }
+        assertNotEquals(firstMovements.stream().map(StockMovement::getQuantity).toList(),
+                generate(spec(2_000, 1.0, 8), SyntheticDataGenerator.products(spec(2_000, 1.0, 8)))
+                        .stream().map(StockMovement::getQuantity).toList());
+    }
+
+    @Test
+    void testLedgerIsTimeOrderedAndNeverOversells() {
+        SyntheticDataGenerator.Spec spec = spec(5_000, 1.0, 3);
+        List<Product> products = SyntheticDataGenerator.products(spec);
+        List<StockMovement> movements = generate(spec, products);
+
+        assertEquals(5_000, movements.size());
+        Map<Long, Long> balances = new HashMap<>();
+        LocalDateTime previous = null;
+        for (StockMovement movement : movements) {
+            assertFalse(movement.getMovementDate().isAfter(END));
+            if (previous != null) {
+                assertFalse(movement.getMovementDate().isBefore(previous));
+            }
+            previous = movement.getMovementDate();
+            long signed = movement.getMovementType() == MovementType.ENTRADA ? movement.getQuantity() : -movement.getQuantity();
+            long balance = balances.merge(movement.getProduct().getId(), signed, Long::sum);
+            assertTrue(balance >= 0);
+            if (movement.getMovementType() == MovementType.ENTRADA) {
+                assertNotNull(movement.getPurchaseValue());
+            }
+        }
+        for (Product product : products) {
+            assertEquals(balances.getOrDefault(product.getId(), 0L).intValue(), product.getStockQuantity());
+        }
+    }
+
+    @Test
+    void testSkewConcentratesMovementsOnHotProducts() {
+        assertTrue(shareOfFirstProduct(spec(10_000, 1.2, 5)) > 0.15);
+        assertTrue(shareOfFirstProduct(spec(10_000, 0, 5)) < 0.05);
+    }
+
+    private static double shareOfFirstProduct(SyntheticDataGenerator.Spec spec) {
+        List<StockMovement> movements = generate(spec, SyntheticDataGenerator.products(spec));
+        return (double) movements.stream().filter(movement -> movement.getProduct().getId() == 1L).count()
+                / movements.size();
+    }
+}
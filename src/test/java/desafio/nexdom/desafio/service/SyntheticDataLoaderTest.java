@@ -0,0 +1,14 @@
+package desafio.nexdom.desafio.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDataLoaderTest {
+
+    @Test
+    void testCodePrefixWildcardsAreEscaped() {
+        assertEquals("SYN-%", SyntheticDataLoader.likePrefix("SYN-"));
+        assertEquals("SYN\\_A\\%\\\\%", SyntheticDataLoader.likePrefix("SYN_A%\\"));
+    }
+}
@@ -0,0 +1,40 @@
+package desafio.nexdom.desafio.support;
+
+import desafio.nexdom.desafio.config.StatementStats;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Conta os comandos SQL executados na thread do teste (MockMvc roda a requisição na mesma thread)
+// e falha se passarem do limite, para que um N+1 novo quebre o build
+public final class StatementCountAssertions {
+
+    private StatementCountAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(int max, String description, ThrowingSupplier<T> action) {
+        try (StatementStats.Scope scope = StatementStats.open()) {
+            T result;
+            try {
+                result = action.get();
+            } catch (Throwable t) {
+                return fail(description + ": falhou antes da contagem", t);
+            }
+            assertTrue(scope.statements() <= max, description + ": esperado no máximo " + max
+                    + " comandos SQL, executados " + scope.statements());
+            return result;
+        }
+    }
+
+    public static int countStatements(ThrowingSupplier<?> action) {
+        try (StatementStats.Scope scope = StatementStats.open()) {
+            try {
+                action.get();
+            } catch (Throwable t) {
+                fail("Ação falhou durante a contagem de comandos SQL", t);
+            }
+            return scope.statements();
+        }
+    }
+}